@@ -0,0 +1,93 @@
+package mx.alura.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.record.autocomplete.SuggestionData;
+import mx.alura.api.service.AutocompleteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller responsible for typeahead suggestions of course names, post titles and usernames.
+ */
+@RestController
+@RequestMapping("/forum/autocomplete")
+@SecurityRequirement(name = "bearerAuth")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Constructs a new AutocompleteController.
+     *
+     * @param autocompleteService The service answering the lookups.
+     */
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Suggests course names.
+     *
+     * @param prefix The typed prefix.
+     * @param limit  The maximum number of suggestions, between 1 and 20.
+     * @return ResponseEntity with the matching courses in alphabetical order.
+     */
+    @Operation(summary = "Autocomplete course names", description = "Suggests courses whose name starts with the prefix.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/courses")
+    public ResponseEntity<List<SuggestionData>> courses(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.suggest(AutocompleteKind.COURSE, prefix, limit));
+    }
+
+    /**
+     * Suggests post titles.
+     *
+     * @param prefix The typed prefix.
+     * @param limit  The maximum number of suggestions, between 1 and 20.
+     * @return ResponseEntity with the matching posts in alphabetical order.
+     */
+    @Operation(summary = "Autocomplete post titles", description = "Suggests posts whose title starts with the prefix.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/posts")
+    public ResponseEntity<List<SuggestionData>> posts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.suggest(AutocompleteKind.POST, prefix, limit));
+    }
+
+    /**
+     * Suggests usernames.
+     *
+     * @param prefix The typed prefix.
+     * @param limit  The maximum number of suggestions, between 1 and 20.
+     * @return ResponseEntity with the matching users in alphabetical order.
+     */
+    @Operation(summary = "Autocomplete usernames", description = "Suggests users whose username starts with the prefix.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/users")
+    public ResponseEntity<List<SuggestionData>> users(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.suggest(AutocompleteKind.USER, prefix, limit));
+    }
+}
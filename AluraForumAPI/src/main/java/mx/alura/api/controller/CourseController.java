@@ -4,18 +4,18 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
-import mx.alura.api.infra.errors.ErrorHandler;
-import mx.alura.api.model.Course;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.pagination.IndexedSort;
 import mx.alura.api.record.course.RegisterCourseData;
 import mx.alura.api.record.course.ResponseCourseData;
 import mx.alura.api.record.course.UpdateCourseByIdData;
 import mx.alura.api.record.course.UpdateCourseData;
-import mx.alura.api.repository.CourseRepository;
+import mx.alura.api.service.CourseService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -30,15 +30,15 @@ import java.net.URI;
 @SecurityRequirement(name = "bearerAuth")
 public class CourseController {
 
-    private final CourseRepository courseRepository;
+    private final CourseService courseService;
 
     /**
      * Constructs a new CourseController.
      *
-     * @param courseRepository The repository for managing courses.
+     * @param courseService The service for managing courses.
      */
-    public CourseController(CourseRepository courseRepository) {
-        this.courseRepository = courseRepository;
+    public CourseController(CourseService courseService) {
+        this.courseService = courseService;
     }
 
     /**
@@ -59,10 +59,10 @@ public class CourseController {
             @RequestBody @Valid RegisterCourseData registerCourseData,
             UriComponentsBuilder uriComponentsBuilder
     ) {
-        Course course = courseRepository.save(new Course(registerCourseData));
-        URI uri = uriComponentsBuilder.path("/forum/course/{id}").buildAndExpand(course.getId()).toUri();
+        ResponseCourseData course = courseService.register(registerCourseData);
+        URI uri = uriComponentsBuilder.path("/forum/course/{id}").buildAndExpand(course.id()).toUri();
 
-        return ResponseEntity.created(uri).body(new ResponseCourseData(course));
+        return ResponseEntity.created(uri).eTag(ETags.of(course)).body(course);
     }
 
     /**
@@ -74,14 +74,17 @@ public class CourseController {
     @Operation(summary = "List courses", description = "Lists all courses.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Courses listed successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping
     public ResponseEntity<Page<ResponseCourseData>> listCourses(
             @PageableDefault(size = 5, sort = "name")
+            @IndexedSort({"id", "name"})
             Pageable pageable
     ) {
-        return ResponseEntity.ok(courseRepository.findAll(pageable).map(ResponseCourseData::new));
+        Page<ResponseCourseData> courses = courseService.list(pageable);
+        return ResponseEntity.ok().eTag(ETags.of(courses)).body(courses);
     }
 
     /**
@@ -93,19 +96,21 @@ public class CourseController {
     @Operation(summary = "Get course by ID", description = "Retrieves a course by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Course retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
             @ApiResponse(responseCode = "404", description = "Course not found.")
     })
     @GetMapping("/{id}")
     public ResponseEntity<ResponseCourseData> getCourseById(@PathVariable Long id) {
-        Course course = courseRepository.getReferenceById(id);
-        return ResponseEntity.ok(new ResponseCourseData(course));
+        ResponseCourseData course = courseService.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(course)).body(course);
     }
 
     /**
      * Updates a course's data.
      *
      * @param updateCourseData The data for updating the course.
+     * @param ifMatch          The If-Match header, to update only if the course still has the version the client read.
      * @return ResponseEntity with the updated course data if successful, or an error response if not found or the request is invalid.
      */
     @Operation(summary = "Update a course", description = "Updates a course's data.")
@@ -113,14 +118,17 @@ public class CourseController {
             @ApiResponse(responseCode = "200", description = "Course updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "Course not found.")
+            @ApiResponse(responseCode = "404", description = "Course not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the course was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the course changed since the version named by If-Match.")
     })
     @PutMapping
-    @Transactional
-    public ResponseEntity<ResponseCourseData> updateCourse(@RequestBody @Valid UpdateCourseData updateCourseData) {
-        Course course = courseRepository.getReferenceById(updateCourseData.id());
-        course.updateData(updateCourseData);
-        return ResponseEntity.ok(new ResponseCourseData(course));
+    public ResponseEntity<ResponseCourseData> updateCourse(
+            @RequestBody @Valid UpdateCourseData updateCourseData,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ResponseCourseData course = courseService.update(updateCourseData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(course)).body(course);
     }
 
     /**
@@ -128,6 +136,7 @@ public class CourseController {
      *
      * @param updateCourseByIdData The data for updating the course.
      * @param id                   The ID of the course to update.
+     * @param ifMatch              The If-Match header, to update only if the course still has the version the client read.
      * @return ResponseEntity with the updated course data if successful, or an error response if not found or the request is invalid.
      */
     @Operation(summary = "Update a course by ID", description = "Updates a course's data by its ID.")
@@ -135,17 +144,18 @@ public class CourseController {
             @ApiResponse(responseCode = "200", description = "Course updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "Course not found.")
+            @ApiResponse(responseCode = "404", description = "Course not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the course was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the course changed since the version named by If-Match.")
     })
     @PutMapping("/{id}")
-    @Transactional
     public ResponseEntity<ResponseCourseData> updateCourseById(
             @RequestBody @Valid UpdateCourseByIdData updateCourseByIdData,
-            @PathVariable Long id
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Course course = courseRepository.getReferenceById(id);
-        course.updateData(updateCourseByIdData);
-        return ResponseEntity.ok(new ResponseCourseData(course));
+        ResponseCourseData course = courseService.update(id, updateCourseByIdData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(course)).body(course);
     }
 
     /**
@@ -161,14 +171,9 @@ public class CourseController {
             @ApiResponse(responseCode = "404", description = "Course not found.")
     })
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<String> deleteCourse(@PathVariable Long id) {
-        if (courseRepository.existsById(id)) {
-            Course course = courseRepository.getReferenceById(id);
-            courseRepository.delete(course);
-            return ResponseEntity.noContent().build();
-        }
-        return new ErrorHandler().handlerError404();
+        courseService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 
 }
@@ -0,0 +1,120 @@
+package mx.alura.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import mx.alura.api.service.ExportFormat;
+import mx.alura.api.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controller responsible for exporting the full post and message history of a course.
+ * The response is written while rows are read from the database, so no page of results is ever held in memory.
+ */
+@RestController
+@RequestMapping("/forum/export")
+@SecurityRequirement(name = "bearerAuth")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Constructs a new ExportController.
+     *
+     * @param exportService The service that streams the rows.
+     */
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exports every post of a course.
+     *
+     * @param courseName     The name of the course.
+     * @param format         The output format, NDJSON or CSV.
+     * @param acceptEncoding The Accept-Encoding header; gzip is used when the client accepts it.
+     * @return ResponseEntity streaming the posts.
+     */
+    @Operation(summary = "Export posts by course name", description = "Streams every post of a course as NDJSON or CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts streamed successfully."),
+            @ApiResponse(responseCode = "400", description = "Bad request, unknown format."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/posts/course/{courseName}")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @PathVariable String courseName,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return stream("posts", format, acceptEncoding, out -> exportService.exportPosts(courseName, format, out));
+    }
+
+    /**
+     * Exports every message of a course.
+     *
+     * @param courseName     The name of the course.
+     * @param format         The output format, NDJSON or CSV.
+     * @param acceptEncoding The Accept-Encoding header; gzip is used when the client accepts it.
+     * @return ResponseEntity streaming the messages.
+     */
+    @Operation(summary = "Export messages by course name", description = "Streams every message of a course as NDJSON or CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages streamed successfully."),
+            @ApiResponse(responseCode = "400", description = "Bad request, unknown format."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/messages/course/{courseName}")
+    public ResponseEntity<StreamingResponseBody> exportMessages(
+            @PathVariable String courseName,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return stream("messages", format, acceptEncoding, out -> exportService.exportMessages(courseName, format, out));
+    }
+
+    /**
+     * Builds the streaming response, compressing it on the fly when the client accepts gzip.
+     * The gzip stream is closed even when the export fails, so its deflater is released at once;
+     * the response stream itself is left open for the container.
+     *
+     * @param name           The base name of the downloaded file.
+     * @param format         The output format.
+     * @param acceptEncoding The Accept-Encoding header, or null.
+     * @param body           The writer of the uncompressed content.
+     * @return ResponseEntity streaming the content.
+     */
+    private static ResponseEntity<StreamingResponseBody> stream(
+            String name,
+            ExportFormat format,
+            String acceptEncoding,
+            StreamingResponseBody body
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build()
+                        .toString());
+        if (!gzip) {
+            return response.body(body);
+        }
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    try (GZIPOutputStream compressed = new GZIPOutputStream(StreamUtils.nonClosing(out), 8192)) {
+                        body.writeTo(compressed);
+                    }
+                });
+    }
+}
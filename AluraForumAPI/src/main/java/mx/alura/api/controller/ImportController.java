@@ -0,0 +1,73 @@
+package mx.alura.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import mx.alura.api.record.imports.ImportReportData;
+import mx.alura.api.service.ImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controller responsible for bulk imports of forum history.
+ * The request body is newline-delimited JSON and is read as a stream, never buffered whole.
+ */
+@RestController
+@RequestMapping("/forum/import")
+@SecurityRequirement(name = "bearerAuth")
+public class ImportController {
+
+    private final ImportService importService;
+
+    /**
+     * Constructs a new ImportController.
+     *
+     * @param importService The service that parses and stores the imported lines.
+     */
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Imports posts, one post registration object per line.
+     *
+     * @param body The NDJSON request body.
+     * @return ResponseEntity with the number of imported lines and the rejected ones.
+     * @throws IOException If the request body cannot be read.
+     */
+    @Operation(summary = "Import posts", description = "Imports posts from an NDJSON body, one post per line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected lines."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
+            @ApiResponse(responseCode = "415", description = "Unsupported media type, the body must be NDJSON.")
+    })
+    @PostMapping(value = "/posts", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportData> importPosts(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importPosts(body));
+    }
+
+    /**
+     * Imports messages, one message registration object per line.
+     *
+     * @param body The NDJSON request body.
+     * @return ResponseEntity with the number of imported lines and the rejected ones.
+     * @throws IOException If the request body cannot be read.
+     */
+    @Operation(summary = "Import messages", description = "Imports messages from an NDJSON body, one message per line.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected lines."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
+            @ApiResponse(responseCode = "415", description = "Unsupported media type, the body must be NDJSON.")
+    })
+    @PostMapping(value = "/messages", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportData> importMessages(InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importMessages(body));
+    }
+}
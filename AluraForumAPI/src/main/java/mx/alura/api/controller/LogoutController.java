@@ -0,0 +1,74 @@
+package mx.alura.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import mx.alura.api.infra.security.TokenRevocationService;
+import mx.alura.api.infra.security.TokenService;
+import mx.alura.api.record.authentication.JwtTokenData;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsible for revoking JWT tokens before they expire.
+ */
+@RestController
+@RequestMapping("/logout")
+@SecurityRequirement(name = "bearerAuth")
+public class LogoutController {
+
+    private final TokenService tokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Constructs a new LogoutController.
+     *
+     * @param tokenService           The token service for verifying JWT tokens.
+     * @param tokenRevocationService The service that records revoked tokens.
+     */
+    public LogoutController(TokenService tokenService, TokenRevocationService tokenRevocationService) {
+        this.tokenService = tokenService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * Revokes the token used to authenticate the current request.
+     *
+     * @param authHeader The Authorization header of the request.
+     * @return ResponseEntity with no content.
+     */
+    @Operation(summary = "Log out", description = "Revokes the token used in the request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @PostMapping
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        tokenRevocationService.revoke(tokenService.verify(authHeader.replace("Bearer ", "")));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revokes a given token, for example one that has been compromised.
+     *
+     * @param jwtTokenData The token to revoke.
+     * @return ResponseEntity with no content.
+     */
+    @Operation(summary = "Revoke a token", description = "Revokes a compromised token until it expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, the token is invalid or authentication is required.")
+    })
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestBody @Valid JwtTokenData jwtTokenData) {
+        tokenRevocationService.revoke(tokenService.verify(jwtTokenData.jwtToken()));
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,20 +4,23 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
-import mx.alura.api.infra.errors.ErrorHandler;
-import mx.alura.api.model.Message;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.pagination.IndexedSort;
+import mx.alura.api.record.pagination.CursorPageData;
 import mx.alura.api.record.message.*;
-import mx.alura.api.repository.MessageRepository;
+import mx.alura.api.service.MessageService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Optional;
 
 /**
  * Controller responsible for managing forum messages.
@@ -27,15 +30,15 @@ import java.net.URI;
 @SecurityRequirement(name = "bearerAuth")
 public class MessageController {
 
-    private final MessageRepository messageRepository;
+    private final MessageService messageService;
 
     /**
      * Constructs a new MessageController.
      *
-     * @param messageRepository The repository for managing messages.
+     * @param messageService The service for managing messages.
      */
-    public MessageController(MessageRepository messageRepository) {
-        this.messageRepository = messageRepository;
+    public MessageController(MessageService messageService) {
+        this.messageService = messageService;
     }
 
     /**
@@ -56,13 +59,13 @@ public class MessageController {
             @RequestBody @Valid RegisterMessageData registerMessageData,
             UriComponentsBuilder uriComponentsBuilder
     ) {
-        Message message = messageRepository.save(new Message(registerMessageData));
+        ResponseMessageData message = messageService.register(registerMessageData);
 
         URI uri = uriComponentsBuilder.path("/forum/posts/{id}").buildAndExpand(
-                message.getId()
+                message.id()
         ).toUri();
 
-        return ResponseEntity.created(uri).body(new ResponseMessageData(message));
+        return ResponseEntity.created(uri).eTag(ETags.of(message)).body(message);
     }
 
     /**
@@ -74,32 +77,46 @@ public class MessageController {
     @Operation(summary = "List messages", description = "Lists all messages.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Messages listed successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping
     public ResponseEntity<Page<ListMessageData>> listMessages(
             @PageableDefault(size = 5, sort = "creationDate")
+            @IndexedSort({"id", "creationDate"})
             Pageable pageable
     ) {
-        return ResponseEntity.ok(messageRepository.findAll(pageable).map(ListMessageData::new));
+        Page<ListMessageData> messages = messageService.list(pageable);
+        return ResponseEntity.ok().eTag(ETags.of(messages)).body(messages);
     }
 
     /**
      * Retrieves a message by its ID.
      *
-     * @param id The ID of the message to retrieve.
+     * @param id          The ID of the message to retrieve.
+     * @param ifNoneMatch The If-None-Match header, answered from the version of the message alone when it still matches.
      * @return ResponseEntity with the message data if found, or an error response if not found.
      */
     @Operation(summary = "Get message by ID", description = "Retrieves a message by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Message retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
             @ApiResponse(responseCode = "404", description = "Message not found.")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ResponseMessageData> getMessageById(@PathVariable Long id) {
-        Message message = messageRepository.getReferenceById(id);
-        return ResponseEntity.ok(new ResponseMessageData(message));
+    public ResponseEntity<ResponseMessageData> getMessageById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = messageService.findVersion(id).map(ETags::of);
+            if (current.isPresent() && ETags.matchesNoneMatch(ifNoneMatch, current.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+            }
+        }
+        ResponseMessageData message = messageService.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(message)).body(message);
     }
 
     /**
@@ -112,17 +129,16 @@ public class MessageController {
     @Operation(summary = "Get messages by course name", description = "Retrieves messages by course name.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Messages retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping("/course/{courseName}")
     public ResponseEntity<Page<ListMessageData>> getMessageByCourseName(
-            @PageableDefault(size = 5) Pageable pageable,
+            @PageableDefault(size = 5) @IndexedSort({"id", "creationDate"}) Pageable pageable,
             @PathVariable String courseName
     ) {
-        return ResponseEntity.ok(
-                messageRepository.findByCourseName(courseName, pageable)
-                        .map(ListMessageData::new)
-                );
+        Page<ListMessageData> messages = messageService.listByCourseName(courseName, pageable);
+        return ResponseEntity.ok().eTag(ETags.of(messages)).body(messages);
     }
 
     /**
@@ -135,23 +151,96 @@ public class MessageController {
     @Operation(summary = "Get messages by username", description = "Retrieves messages by username.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Messages retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping("/user/{username}")
     public ResponseEntity<Page<ListMessageData>> getMessageByUsername(
-            @PageableDefault(size = 5) Pageable pageable,
+            @PageableDefault(size = 5) @IndexedSort({"id", "creationDate"}) Pageable pageable,
             @PathVariable String username
     ) {
-        return ResponseEntity.ok(
-                messageRepository.findByUsername(username, pageable)
-                        .map(ListMessageData::new)
-                );
+        Page<ListMessageData> messages = messageService.listByUsername(username, pageable);
+        return ResponseEntity.ok().eTag(ETags.of(messages)).body(messages);
+    }
+
+    /**
+     * Lists messages newest first using cursor pagination.
+     *
+     * @param cursor The continuation token returned by the previous page, absent for the first page.
+     * @param size   The number of messages per page.
+     * @return ResponseEntity with a page of message data and the token for the next page.
+     */
+    @Operation(summary = "List messages by cursor", description = "Lists messages newest first using cursor pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid cursor."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageData<ListMessageData>> listMessagesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        CursorPageData<ListMessageData> messages = messageService.listByCursor(cursor, size);
+        return ResponseEntity.ok().eTag(ETags.of(messages)).body(messages);
+    }
+
+    /**
+     * Retrieves messages by course name, newest first, using cursor pagination.
+     *
+     * @param courseName The name of the course to filter messages.
+     * @param cursor     The continuation token returned by the previous page, absent for the first page.
+     * @param size       The number of messages per page.
+     * @return ResponseEntity with a page of message data and the token for the next page.
+     */
+    @Operation(summary = "Get messages by course name by cursor", description = "Retrieves messages by course name, newest first, using cursor pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid cursor."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/course/{courseName}/cursor")
+    public ResponseEntity<CursorPageData<ListMessageData>> getMessageByCourseNameByCursor(
+            @PathVariable String courseName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        CursorPageData<ListMessageData> messages = messageService.listByCourseNameByCursor(courseName, cursor, size);
+        return ResponseEntity.ok().eTag(ETags.of(messages)).body(messages);
+    }
+
+    /**
+     * Retrieves messages by username, newest first, using cursor pagination.
+     *
+     * @param username The username to filter messages.
+     * @param cursor   The continuation token returned by the previous page, absent for the first page.
+     * @param size     The number of messages per page.
+     * @return ResponseEntity with a page of message data and the token for the next page.
+     */
+    @Operation(summary = "Get messages by username by cursor", description = "Retrieves messages by username, newest first, using cursor pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid cursor."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/user/{username}/cursor")
+    public ResponseEntity<CursorPageData<ListMessageData>> getMessageByUsernameByCursor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        CursorPageData<ListMessageData> messages = messageService.listByUsernameByCursor(username, cursor, size);
+        return ResponseEntity.ok().eTag(ETags.of(messages)).body(messages);
     }
 
     /**
      * Updates a message's data.
      *
      * @param updateMessageData The data for updating the message.
+     * @param ifMatch           The If-Match header, to update only if the message still has the version the client read.
      * @return ResponseEntity with the updated message data if successful,
      * or an error response if not found or the request is invalid.
      */
@@ -160,14 +249,17 @@ public class MessageController {
             @ApiResponse(responseCode = "200", description = "Message updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "Message not found.")
+            @ApiResponse(responseCode = "404", description = "Message not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the message was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the message changed since the version named by If-Match.")
     })
     @PutMapping
-    @Transactional
-    public ResponseEntity<ResponseMessageData> updateMessage(@RequestBody @Valid UpdateMessageData updateMessageData) {
-        Message message = messageRepository.getReferenceById(updateMessageData.id());
-        message.updateData(updateMessageData);
-        return ResponseEntity.ok(new ResponseMessageData(message));
+    public ResponseEntity<ResponseMessageData> updateMessage(
+            @RequestBody @Valid UpdateMessageData updateMessageData,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ResponseMessageData message = messageService.update(updateMessageData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(message)).body(message);
     }
 
     /**
@@ -175,6 +267,7 @@ public class MessageController {
      *
      * @param updateMessageDataById The data for updating the message.
      * @param id                    The ID of the message to update.
+     * @param ifMatch               The If-Match header, to update only if the message still has the version the client read.
      * @return ResponseEntity with the updated message data if successful,
      * or an error response if not found or the request is invalid.
      */
@@ -183,17 +276,18 @@ public class MessageController {
             @ApiResponse(responseCode = "200", description = "Message updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "Message not found.")
+            @ApiResponse(responseCode = "404", description = "Message not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the message was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the message changed since the version named by If-Match.")
     })
     @PutMapping("/{id}")
-    @Transactional
     public ResponseEntity<ResponseMessageData> updatePotsById(
             @RequestBody @Valid UpdateMessageDataById updateMessageDataById,
-            @PathVariable Long id
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Message message = messageRepository.getReferenceById(id);
-        message.updateData(updateMessageDataById);
-        return ResponseEntity.ok(new ResponseMessageData(message));
+        ResponseMessageData message = messageService.update(id, updateMessageDataById, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(message)).body(message);
     }
 
     /**
@@ -203,13 +297,8 @@ public class MessageController {
      * @return ResponseEntity with a success message if deleted, or an error response if not found.
      */
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<String> deletePost(@PathVariable Long id) {
-        if (messageRepository.existsById(id)) {
-            Message message = messageRepository.getReferenceById(id);
-            messageRepository.delete(message);
-            return ResponseEntity.noContent().build();
-        }
-        return new ErrorHandler().handlerError404();
+        messageService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -4,20 +4,24 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
-import mx.alura.api.infra.errors.ErrorHandler;
-import mx.alura.api.model.Post;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.pagination.IndexedSort;
+import mx.alura.api.record.pagination.CursorPageData;
 import mx.alura.api.record.post.*;
-import mx.alura.api.repository.PostRepository;
+import mx.alura.api.service.PostService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Optional;
 
 /**
  * Controller responsible for managing forum posts.
@@ -27,15 +31,15 @@ import java.net.URI;
 @SecurityRequirement(name = "bearerAuth")
 public class PostController {
 
-    private final PostRepository postRepository;
+    private final PostService postService;
 
     /**
      * Constructs a new PostController.
      *
-     * @param postRepository The repository for managing posts.
+     * @param postService The service for managing posts.
      */
-    public PostController(PostRepository postRepository) {
-        this.postRepository = postRepository;
+    public PostController(PostService postService) {
+        this.postService = postService;
     }
 
     /**
@@ -56,13 +60,13 @@ public class PostController {
             @RequestBody @Valid RegisterPostData registerPostData,
             UriComponentsBuilder uriComponentsBuilder
     ) {
-        Post post = postRepository.save(new Post(registerPostData));
+        ResponsePostData post = postService.register(registerPostData);
 
         URI uri = uriComponentsBuilder.path("/forum/posts/{id}").buildAndExpand(
-                post.getId()
+                post.id()
         ).toUri();
 
-        return ResponseEntity.created(uri).body(new ResponsePostData(post));
+        return ResponseEntity.created(uri).eTag(ETags.of(post)).body(post);
     }
 
     /**
@@ -74,32 +78,46 @@ public class PostController {
     @Operation(summary = "List posts", description = "Lists all posts.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Posts listed successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping
     public ResponseEntity<Page<ListPostData>> listPosts(
             @PageableDefault(size = 5, sort = "title")
+            @IndexedSort({"id", "title", "creationDate"})
             Pageable pageable
     ) {
-        return ResponseEntity.ok(postRepository.findAll(pageable).map(ListPostData::new));
+        Page<ListPostData> posts = postService.list(pageable);
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
     }
 
     /**
      * Retrieves a post by its ID.
      *
-     * @param id The ID of the post to retrieve.
+     * @param id          The ID of the post to retrieve.
+     * @param ifNoneMatch The If-None-Match header, answered from the version of the post alone when it still matches.
      * @return ResponseEntity with the post-data if found, or an error response if not found.
      */
     @Operation(summary = "Get post by ID", description = "Retrieves a post by its ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Post retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
             @ApiResponse(responseCode = "404", description = "Post not found.")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ResponsePostData> getPostById(@PathVariable Long id) {
-        Post post = postRepository.getReferenceById(id);
-        return ResponseEntity.ok(new ResponsePostData(post));
+    public ResponseEntity<ResponsePostData> getPostById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = postService.findVersion(id).map(ETags::of);
+            if (current.isPresent() && ETags.matchesNoneMatch(ifNoneMatch, current.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+            }
+        }
+        ResponsePostData post = postService.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(post)).body(post);
     }
 
     /**
@@ -112,17 +130,18 @@ public class PostController {
     @Operation(summary = "Get posts by username", description = "Retrieves posts by username.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Posts retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping("/user/{username}")
     public ResponseEntity<Page<ListPostData>> listPostByUserName(
-            @PageableDefault(size = 5) Pageable pageable,
+            @PageableDefault(size = 5, sort = {"creationDate", "id"}, direction = Sort.Direction.DESC)
+            @IndexedSort({"id", "creationDate"})
+            Pageable pageable,
             @PathVariable String username
     ) {
-        return ResponseEntity.ok(postRepository.findByUsername(
-                username, pageable)
-                .map(ListPostData::new)
-        );
+        Page<ListPostData> posts = postService.listByUsername(username, pageable);
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
     }
 
     /**
@@ -135,23 +154,96 @@ public class PostController {
     @Operation(summary = "Get posts by course name", description = "Retrieves posts by course name.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Posts retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping("/course/{courseName}")
     public ResponseEntity<Page<ListPostData>> listPostByCourseName(
-            @PageableDefault(size = 5) Pageable pageable,
+            @PageableDefault(size = 5) @IndexedSort({"id", "creationDate"}) Pageable pageable,
             @PathVariable String courseName
     ) {
-        return ResponseEntity.ok(postRepository.findByCourseName(
-                courseName, pageable)
-                .map(ListPostData::new)
-        );
+        Page<ListPostData> posts = postService.listByCourseName(courseName, pageable);
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
+    }
+
+    /**
+     * Lists posts newest first using cursor pagination.
+     *
+     * @param cursor The continuation token returned by the previous page, absent for the first page.
+     * @param size   The number of posts per page.
+     * @return ResponseEntity with a page of post data and the token for the next page.
+     */
+    @Operation(summary = "List posts by cursor", description = "Lists posts newest first using cursor pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid cursor."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageData<ListPostData>> listPostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        CursorPageData<ListPostData> posts = postService.listByCursor(cursor, size);
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
+    }
+
+    /**
+     * Retrieves posts by username, newest first, using cursor pagination.
+     *
+     * @param username The username to filter posts.
+     * @param cursor   The continuation token returned by the previous page, absent for the first page.
+     * @param size     The number of posts per page.
+     * @return ResponseEntity with a page of post data and the token for the next page.
+     */
+    @Operation(summary = "Get posts by username by cursor", description = "Retrieves posts by username, newest first, using cursor pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid cursor."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/user/{username}/cursor")
+    public ResponseEntity<CursorPageData<ListPostData>> listPostByUserNameByCursor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        CursorPageData<ListPostData> posts = postService.listByUsernameByCursor(username, cursor, size);
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
+    }
+
+    /**
+     * Retrieves posts by course name, newest first, using cursor pagination.
+     *
+     * @param courseName The name of the course to filter posts.
+     * @param cursor     The continuation token returned by the previous page, absent for the first page.
+     * @param size       The number of posts per page.
+     * @return ResponseEntity with a page of post data and the token for the next page.
+     */
+    @Operation(summary = "Get posts by course name by cursor", description = "Retrieves posts by course name, newest first, using cursor pagination.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
+            @ApiResponse(responseCode = "400", description = "Bad request, invalid cursor."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping("/course/{courseName}/cursor")
+    public ResponseEntity<CursorPageData<ListPostData>> listPostByCourseNameByCursor(
+            @PathVariable String courseName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        CursorPageData<ListPostData> posts = postService.listByCourseNameByCursor(courseName, cursor, size);
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
     }
 
     /**
      * Updates a post's data.
      *
      * @param updatePostData The data for updating the post.
+     * @param ifMatch        The If-Match header, to update only if the post still has the version the client read.
      * @return ResponseEntity with the updated post data if successful, or an error response if not found or the request is invalid.
      */
     @Operation(summary = "Update a post", description = "Updates a post's data.")
@@ -159,14 +251,17 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Post updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "Post not found.")
+            @ApiResponse(responseCode = "404", description = "Post not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the post was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the post changed since the version named by If-Match.")
     })
     @PutMapping
-    @Transactional
-    public ResponseEntity<ResponsePostData> updatePost(@RequestBody @Valid UpdatePostData updatePostData) {
-        Post post = postRepository.getReferenceById(updatePostData.id());
-        post.updateData(updatePostData);
-        return ResponseEntity.ok(new ResponsePostData(post));
+    public ResponseEntity<ResponsePostData> updatePost(
+            @RequestBody @Valid UpdatePostData updatePostData,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ResponsePostData post = postService.update(updatePostData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(post)).body(post);
     }
 
     /**
@@ -174,6 +269,7 @@ public class PostController {
      *
      * @param updateUserByIdData The data for updating the post.
      * @param id                  The ID of the post to update.
+     * @param ifMatch            The If-Match header, to update only if the post still has the version the client read.
      * @return ResponseEntity with the updated post-data if successful, or an error response if not found or the request is invalid.
      */
     @Operation(summary = "Update a post by ID", description = "Updates a post's data by its ID.")
@@ -181,17 +277,18 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Post updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "Post not found.")
+            @ApiResponse(responseCode = "404", description = "Post not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the post was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the post changed since the version named by If-Match.")
     })
     @PutMapping("/{id}")
-    @Transactional
     public ResponseEntity<ResponsePostData> updatePotsById(
             @RequestBody @Valid UpdatePostByIdData updateUserByIdData,
-            @PathVariable Long id
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Post post = postRepository.getReferenceById(id);
-        post.updateData(updateUserByIdData);
-        return ResponseEntity.ok(new ResponsePostData(post));
+        ResponsePostData post = postService.update(id, updateUserByIdData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(post)).body(post);
     }
 
     /**
@@ -207,13 +304,8 @@ public class PostController {
             @ApiResponse(responseCode = "404", description = "Post not found.")
     })
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<String> deletePost(@PathVariable Long id) {
-        if (postRepository.existsById(id)) {
-            Post post = postRepository.getReferenceById(id);
-            postRepository.delete(post);
-            return ResponseEntity.noContent().build();
-        }
-        return new ErrorHandler().handlerError404();
+        postService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,53 @@
+package mx.alura.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import mx.alura.api.record.search.SearchResultData;
+import mx.alura.api.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller responsible for full-text search over post titles, post bodies and messages.
+ * Rebuilding the index is an operator task, exposed by {@link SearchIndexEndpoint} instead.
+ */
+@RestController
+@RequestMapping("/forum/search")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Constructs a new SearchController.
+     *
+     * @param searchService The service answering the searches.
+     */
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Searches posts and messages.
+     *
+     * @param q     The search text.
+     * @param limit The maximum number of results, between 1 and 50.
+     * @return ResponseEntity with the best matching posts and messages, best first.
+     */
+    @Operation(summary = "Search posts and messages", description = "Ranks posts and messages by how well they match the query.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
+    })
+    @GetMapping
+    public ResponseEntity<List<SearchResultData>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+}
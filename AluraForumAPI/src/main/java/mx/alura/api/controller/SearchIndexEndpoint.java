@@ -0,0 +1,36 @@
+package mx.alura.api.controller;
+
+import mx.alura.api.service.SearchService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint letting operators rebuild the search index with {@code POST /actuator/searchindex}.
+ * Rebuilding streams every post and message, so it is kept off the public API: the endpoint is only
+ * reachable once listed in {@code management.endpoints.web.exposure.include}, which should be done on
+ * a management port that clients cannot reach.
+ */
+@Component
+@Endpoint(id = "searchindex")
+public class SearchIndexEndpoint {
+
+    private final SearchService searchService;
+
+    /**
+     * Constructs a new SearchIndexEndpoint.
+     *
+     * @param searchService The service rebuilding the index.
+     */
+    public SearchIndexEndpoint(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Rebuilds the search index from the database. Searches keep using the previous index until the new one is ready.
+     */
+    @WriteOperation
+    public void rebuild() {
+        searchService.rebuild();
+    }
+}
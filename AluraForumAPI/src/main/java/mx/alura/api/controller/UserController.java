@@ -4,20 +4,19 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
-import mx.alura.api.infra.errors.ErrorHandler;
-import mx.alura.api.model.User;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.pagination.IndexedSort;
 import mx.alura.api.record.user.RegisterUserData;
 import mx.alura.api.record.user.ResponseUserData;
 import mx.alura.api.record.user.UpdateUserByIdData;
 import mx.alura.api.record.user.UpdateUserData;
-import mx.alura.api.repository.UserRepository;
+import mx.alura.api.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -31,18 +30,15 @@ import java.net.URI;
 @SecurityRequirement(name = "bearerAuth")
 public class UserController {
 
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
 
     /**
      * Constructs a new UserController.
      *
-     * @param userRepository   The repository for managing users.
-     * @param passwordEncoder The password encoder for encrypting user passwords.
+     * @param userService The service for managing users.
      */
-    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+    public UserController(UserService userService) {
+        this.userService = userService;
     }
 
     /**
@@ -63,16 +59,13 @@ public class UserController {
             @RequestBody @Valid RegisterUserData registerUserData,
             UriComponentsBuilder uriComponentsBuilder
     ) {
-        User user = new User(registerUserData);
-
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
+        ResponseUserData user = userService.register(registerUserData);
 
         URI uri = uriComponentsBuilder.path("/forum/users/{id}").buildAndExpand(
-                user.getId()
+                user.id()
         ).toUri();
 
-        return ResponseEntity.created(uri).body(new ResponseUserData(user));
+        return ResponseEntity.created(uri).eTag(ETags.of(user)).body(user);
     }
 
     /**
@@ -84,14 +77,17 @@ public class UserController {
     @Operation(summary = "List users", description = "Lists all users.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users listed successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required.")
     })
     @GetMapping
     public ResponseEntity<Page<ResponseUserData>> listUsers(
             @PageableDefault(size = 5, sort = "id")
+            @IndexedSort({"id", "username", "email"})
             Pageable pageable
     ) {
-        return ResponseEntity.ok(userRepository.findAll(pageable).map(ResponseUserData::new));
+        Page<ResponseUserData> users = userService.list(pageable);
+        return ResponseEntity.ok().eTag(ETags.of(users)).body(users);
     }
 
     /**
@@ -103,19 +99,21 @@ public class UserController {
     @Operation(summary = "Get user by ID", description = "Retrieves a user by their ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User retrieved successfully."),
+            @ApiResponse(responseCode = "304", description = "Not modified, the client already holds the current version."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
             @ApiResponse(responseCode = "404", description = "User not found.")
     })
     @GetMapping("/{id}")
     public ResponseEntity<ResponseUserData> getUserById(@PathVariable Long id) {
-        User user = userRepository.getReferenceById(id);
-        return ResponseEntity.ok(new ResponseUserData(user));
+        ResponseUserData user = userService.getById(id);
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     /**
      * Updates a user's data.
      *
      * @param updateUserData The data for updating the user.
+     * @param ifMatch        The If-Match header, to update only if the user still has the version the client read.
      * @return ResponseEntity with the updated user data if successful, or an error response if not found or the request is invalid.
      */
     @Operation(summary = "Update user", description = "Updates a user's data.")
@@ -123,14 +121,17 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "User not found.")
+            @ApiResponse(responseCode = "404", description = "User not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the user was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the user changed since the version named by If-Match.")
     })
     @PutMapping
-    @Transactional
-    public ResponseEntity<ResponseUserData> updateUser(@RequestBody @Valid UpdateUserData updateUserData) {
-        User user = userRepository.getReferenceById(updateUserData.id());
-        user.updateData(updateUserData);
-        return ResponseEntity.ok(new ResponseUserData(user));
+    public ResponseEntity<ResponseUserData> updateUser(
+            @RequestBody @Valid UpdateUserData updateUserData,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ResponseUserData user = userService.update(updateUserData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     /**
@@ -138,6 +139,7 @@ public class UserController {
      *
      * @param updateUserByIdData The data for updating the user.
      * @param id                 The ID of the user to update.
+     * @param ifMatch            The If-Match header, to update only if the user still has the version the client read.
      * @return ResponseEntity with the updated user data if successful, or an error response if not found or the request is invalid.
      */
     @Operation(summary = "Update user by ID", description = "Updates a user's data by their ID.")
@@ -145,17 +147,18 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "User updated successfully."),
             @ApiResponse(responseCode = "400", description = "Bad request, invalid input data."),
             @ApiResponse(responseCode = "401", description = "Unauthorized, authentication required."),
-            @ApiResponse(responseCode = "404", description = "User not found.")
+            @ApiResponse(responseCode = "404", description = "User not found."),
+            @ApiResponse(responseCode = "409", description = "Conflict, the user was updated by a concurrent request."),
+            @ApiResponse(responseCode = "412", description = "Precondition failed, the user changed since the version named by If-Match.")
     })
     @PutMapping("/{id}")
-    @Transactional
     public ResponseEntity<ResponseUserData> updateUserById(
             @RequestBody @Valid UpdateUserByIdData updateUserByIdData,
-            @PathVariable Long id
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        User user = userRepository.getReferenceById(id);
-        user.updateData(updateUserByIdData);
-        return ResponseEntity.ok(new ResponseUserData(user));
+        ResponseUserData user = userService.update(id, updateUserByIdData, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
     }
 
     /**
@@ -171,13 +174,8 @@ public class UserController {
             @ApiResponse(responseCode = "404", description = "User not found.")
     })
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<String> deleteUser(@PathVariable Long id) {
-        if (userRepository.existsById(id)) {
-            User user = userRepository.getReferenceById(id);
-            userRepository.delete(user);
-            return ResponseEntity.noContent().build();
-        }
-        return new ErrorHandler().handlerError404();
+        userService.delete(id);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,264 @@
+package mx.alura.api.infra.autocomplete;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.alura.api.infra.search.Tokenizer;
+import mx.alura.api.record.autocomplete.SuggestionData;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory prefix index over course names, post titles and usernames.
+ * Each kind is a sorted map keyed by the folded value, so a prefix lookup is a range scan
+ * that stops after the requested number of entries. Lookups never lock; writes are serialized
+ * and applied after their transaction commits.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final Lock writeLock = new ReentrantLock();
+
+    private volatile Map<AutocompleteKind, Entries> current = emptyEntries();
+
+    private List<Consumer<Map<AutocompleteKind, Entries>>> pendingDuringRebuild;
+
+    private volatile boolean stale;
+
+    /**
+     * Constructs a new AutocompleteIndex instance.
+     *
+     * @param meterRegistry The registry where the number of indexed values is published.
+     */
+    public AutocompleteIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("forum.autocomplete.entries", this, AutocompleteIndex::size)
+                .description("Course names, post titles and usernames held in the autocomplete index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds or replaces a value.
+     *
+     * @param kind  The kind of value.
+     * @param id    The ID of the course, post or user.
+     * @param value The course name, post title or username.
+     */
+    public void put(AutocompleteKind kind, Long id, String value) {
+        afterCommit(entries -> entries.get(kind).put(id, value));
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param kind The kind of value.
+     * @param id   The ID of the course, post or user.
+     */
+    public void remove(AutocompleteKind kind, Long id) {
+        afterCommit(entries -> entries.get(kind).remove(id));
+    }
+
+    /**
+     * Flags the index as out of date, for changes that remove rows through database cascades.
+     */
+    public void markStale() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale = true;
+                }
+            });
+        } else {
+            stale = true;
+        }
+    }
+
+    /**
+     * Tells whether a rebuild is needed.
+     *
+     * @return true if rows were removed without updating the index.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Finds the values starting with a prefix, ignoring case and accents.
+     *
+     * @param kind   The kind of value.
+     * @param prefix The typed prefix.
+     * @param limit  The maximum number of suggestions.
+     * @return The matching values in alphabetical order.
+     */
+    public List<SuggestionData> suggest(AutocompleteKind kind, String prefix, int limit) {
+        String from = Tokenizer.normalize(prefix.strip());
+        if (from.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        List<SuggestionData> suggestions = new ArrayList<>(limit);
+        for (SuggestionData suggestion : current.get(kind).byKey.subMap(from, from + Character.MAX_VALUE).values()) {
+            suggestions.add(suggestion);
+            if (suggestions.size() == limit) {
+                break;
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Replaces the whole index with the values produced by the loader.
+     * The loader runs without blocking lookups or writes; changes committed meanwhile are replayed on the new index.
+     * Concurrent rebuilds run one after the other.
+     *
+     * @param loader Callback that adds every value to the given builder.
+     */
+    public synchronized void rebuild(Consumer<Builder> loader) {
+        writeLock.lock();
+        try {
+            stale = false;
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Map<AutocompleteKind, Entries> fresh = emptyEntries();
+        try {
+            loader.accept((kind, id, value) -> fresh.get(kind).put(id, value));
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                pendingDuringRebuild = null;
+                stale = true;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        writeLock.lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            current = fresh;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Counts the indexed values.
+     *
+     * @return The number of course names, post titles and usernames in the index.
+     */
+    public int size() {
+        int size = 0;
+        for (Entries entries : current.values()) {
+            size += entries.keyById.size();
+        }
+        return size;
+    }
+
+    /**
+     * Applies a change now, or after the current transaction commits.
+     *
+     * @param change The change to apply.
+     */
+    private void afterCommit(Consumer<Map<AutocompleteKind, Entries>> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    /**
+     * Applies a change to the live index, remembering it if a rebuild is running.
+     *
+     * @param change The change to apply.
+     */
+    private void apply(Consumer<Map<AutocompleteKind, Entries>> change) {
+        writeLock.lock();
+        try {
+            change.accept(current);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Builds an empty set of entries for every kind.
+     *
+     * @return The entries by kind.
+     */
+    private static Map<AutocompleteKind, Entries> emptyEntries() {
+        Map<AutocompleteKind, Entries> entries = new EnumMap<>(AutocompleteKind.class);
+        for (AutocompleteKind kind : AutocompleteKind.values()) {
+            entries.put(kind, new Entries());
+        }
+        return entries;
+    }
+
+    /**
+     * Receives the values of a rebuild.
+     */
+    @FunctionalInterface
+    public interface Builder {
+
+        /**
+         * Adds a value.
+         *
+         * @param kind  The kind of value.
+         * @param id    The ID of the course, post or user.
+         * @param value The course name, post title or username.
+         */
+        void add(AutocompleteKind kind, Long id, String value);
+    }
+
+    /**
+     * The values of one kind, sorted by folded value and then ID.
+     * Writers are serialized by the enclosing lock; readers scan the sorted map without locking.
+     */
+    private static final class Entries {
+
+        private final ConcurrentSkipListMap<String, SuggestionData> byKey = new ConcurrentSkipListMap<>();
+
+        private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+
+        private void put(Long id, String value) {
+            remove(id);
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = Tokenizer.normalize(value.strip()) + SEPARATOR + id;
+            byKey.put(key, new SuggestionData(id, value));
+            keyById.put(id, key);
+        }
+
+        private void remove(Long id) {
+            String key = keyById.remove(id);
+            if (key != null) {
+                byKey.remove(key);
+            }
+        }
+    }
+}
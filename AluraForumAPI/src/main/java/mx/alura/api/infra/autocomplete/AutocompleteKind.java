@@ -0,0 +1,10 @@
+package mx.alura.api.infra.autocomplete;
+
+/**
+ * Kinds of values offered by the {@link AutocompleteIndex}.
+ */
+public enum AutocompleteKind {
+    COURSE,
+    POST,
+    USER
+}
@@ -0,0 +1,43 @@
+package mx.alura.api.infra.cache;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Groups of cached responses that are invalidated together.
+ * Each region lists the GET paths whose responses it holds.
+ */
+public enum CacheRegion {
+    POSTS("/forum/posts", "/forum/posts/**"),
+    MESSAGES("/forum/messages", "/forum/messages/**"),
+    COURSES("/forum/courses", "/forum/courses/**");
+
+    private final List<PathPattern> patterns;
+
+    CacheRegion(String... patterns) {
+        this.patterns = List.of(patterns).stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    /**
+     * Finds the region whose responses include the given path.
+     *
+     * @param path The request path, without context path.
+     * @return The region, or null if responses for the path are not cached.
+     */
+    public static CacheRegion of(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (CacheRegion region : values()) {
+            for (PathPattern pattern : region.patterns) {
+                if (pattern.matches(container)) {
+                    return region;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,268 @@
+package mx.alura.api.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Least-recently-used store of serialized GET responses, bounded by the total size of the stored bytes.
+ * Lookups and stores take no lock: responses live in a concurrent map and remember when they were last
+ * read. When the stored size goes over the limit, one thread evicts the least recently read responses
+ * while the others carry on, so the limit can be exceeded briefly by the responses stored meanwhile.
+ * Every region has a generation number; invalidating a region bumps it, which turns every response
+ * stored under an older generation into a miss. A response rendered while its region was invalidated
+ * is never stored, so a read that raced with a write cannot put stale bytes back.
+ */
+@Component
+public class ResponseCache {
+
+    private final ResponseCacheProperties properties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+    private final AtomicLongArray generations = new AtomicLongArray(CacheRegion.values().length);
+
+    private final long ttlNanos;
+
+    private final AtomicLong size = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a new ResponseCache instance.
+     *
+     * @param properties    The response cache settings.
+     * @param meterRegistry The registry where the hit, miss and eviction counters and the stored size are published.
+     */
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ttlNanos = properties.ttl().toNanos();
+
+        FunctionCounter.builder("forum.response.cache.hits", hits, AtomicLong::get)
+                .description("Responses served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.response.cache.misses", misses, AtomicLong::get)
+                .description("Responses rendered by the controllers")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.response.cache.evictions", evictions, AtomicLong::get)
+                .description("Responses removed because of expiration, size limit or writes")
+                .register(meterRegistry);
+        Gauge.builder("forum.response.cache.bytes", this, ResponseCache::size)
+                .description("Bytes of response bodies currently cached")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a stored response if it is still current.
+     *
+     * @param region The region of the request path.
+     * @param key    The normalized request key.
+     * @return The stored response, or null on a miss.
+     */
+    public CachedResponse get(CacheRegion region, String key) {
+        long generation = generations.get(region.ordinal());
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.response.generation() == generation && now - entry.response.storedAt() < ttlNanos) {
+            entry.lastUsed = now;
+            hits.incrementAndGet();
+            return entry.response;
+        }
+        if (entry != null) {
+            remove(key, entry);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Reads the current generation of a region; pass it to {@link #put} once the response is rendered.
+     *
+     * @param region The region.
+     * @return The current generation.
+     */
+    public long generation(CacheRegion region) {
+        return generations.get(region.ordinal());
+    }
+
+    /**
+     * Stores a rendered response unless its region was invalidated while it was rendered.
+     *
+     * @param region      The region of the request path.
+     * @param key         The normalized request key.
+     * @param generation  The generation read before the response was rendered.
+     * @param contentType The content type of the body.
+     * @param etag        The entity tag of the response, or null if it has none.
+     * @param body        The serialized body.
+     */
+    public void put(CacheRegion region, String key, long generation, String contentType, String etag, byte[] body) {
+        if (body.length > properties.maxEntrySize().toBytes()) {
+            return;
+        }
+        byte[] gzipped = properties.gzip() && body.length >= properties.gzipMinSize().toBytes() ? gzip(body) : null;
+        CachedResponse cached = new CachedResponse(generation, System.nanoTime(), contentType, etag, body, gzipped);
+
+        if (generations.get(region.ordinal()) != generation) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(cached));
+        size.addAndGet(cached.size());
+        if (previous != null) {
+            size.addAndGet(-previous.response.size());
+            evictions.incrementAndGet();
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Invalidates every response of the given regions, again after the current transaction commits
+     * so a response rendered from the rows as they were before the write is not served afterwards.
+     *
+     * @param regions The regions whose data changed.
+     */
+    public void invalidate(CacheRegion... regions) {
+        bump(regions);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(regions);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reports the bytes currently stored.
+     *
+     * @return The size of the stored bodies, gzipped copies included.
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Advances the generation of each region.
+     *
+     * @param regions The regions to invalidate.
+     */
+    private void bump(CacheRegion... regions) {
+        for (CacheRegion region : regions) {
+            generations.incrementAndGet(region.ordinal());
+        }
+    }
+
+    /**
+     * Drops least recently used responses until the stored size fits the limit.
+     * Skipped when another thread is already evicting.
+     */
+    private void evictOverflow() {
+        long maxSize = properties.maxSize().toBytes();
+        if (size.get() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Candidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new Candidate(key, entry, entry.lastUsed)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (Candidate eldest : candidates) {
+                if (size.get() <= maxSize) {
+                    break;
+                }
+                remove(eldest.key(), eldest.entry());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a stored response and counts it as an eviction, unless it was already replaced or removed.
+     *
+     * @param key   The normalized request key.
+     * @param entry The entry expected under the key.
+     */
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            size.addAndGet(-entry.response.size());
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Compresses a body.
+     *
+     * @param body The body.
+     * @return The gzipped body.
+     */
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A stored response and the {@link System#nanoTime()} value when it was last read.
+     */
+    private static final class Entry {
+
+        private final CachedResponse response;
+
+        private volatile long lastUsed;
+
+        private Entry(CachedResponse response) {
+            this.response = response;
+            this.lastUsed = response.storedAt();
+        }
+    }
+
+    /**
+     * An entry considered for eviction, with its last read time taken once so the sort order stays stable.
+     */
+    private record Candidate(String key, Entry entry, long lastUsed) {
+    }
+
+    /**
+     * A stored response.
+     *
+     * @param generation  The generation of its region when it was rendered.
+     * @param storedAt    The {@link System#nanoTime()} value when it was stored.
+     * @param contentType The content type of the body.
+     * @param etag        The entity tag of the response, or null if it has none.
+     * @param body        The serialized body.
+     * @param gzipped     The gzipped body, or null if it was not compressed.
+     */
+    public record CachedResponse(long generation, long storedAt, String contentType, String etag, byte[] body, byte[] gzipped) {
+
+        private long size() {
+            return body.length + (gzipped != null ? gzipped.length : 0);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package mx.alura.api.infra.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mx.alura.api.infra.datasource.ReadConsistency;
+import mx.alura.api.infra.etag.ETags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves GET responses of the cached regions from {@link ResponseCache}, skipping the database and
+ * the JSON serializer on a hit. Registered as a plain servlet filter, it runs after the Spring Security
+ * chain, so only authenticated requests reach it. Responses are the same for every user, so the key
+ * is the path and the sorted query parameters. A hit whose entity tag the client already holds is
+ * answered with 304 Not Modified and no body. Requests pinned to the primary database bypass the cache
+ * entirely, since a cached response may predate the write they must see.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+
+    private final ResponseCacheProperties properties;
+
+    /**
+     * Constructs a new ResponseCacheFilter instance.
+     *
+     * @param responseCache The store of serialized responses.
+     * @param properties    The response cache settings.
+     */
+    public ResponseCacheFilter(ResponseCache responseCache, ResponseCacheProperties properties) {
+        this.responseCache = responseCache;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || CacheRegion.of(request.getRequestURI()) == null
+                || ReadConsistency.isPrimaryRequired();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CacheRegion region = CacheRegion.of(request.getRequestURI());
+        String key = key(request);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        ResponseCache.CachedResponse cached = responseCache.get(region, key);
+        if (cached != null) {
+            if (cached.etag() != null && ETags.matchesNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                response.setHeader(CACHE_HEADER, "HIT");
+                response.setHeader(HttpHeaders.ETAG, cached.etag());
+                return;
+            }
+            write(cached, acceptsGzip(request), response);
+            return;
+        }
+
+        long generation = responseCache.generation(region);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpStatus.OK.value() && !request.isAsyncStarted() && wrapper.getContentType() != null) {
+            responseCache.put(region, key, generation, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG), wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Writes a stored response, gzipped when the client accepts it and a compressed copy exists.
+     *
+     * @param cached      The stored response.
+     * @param acceptsGzip Whether the client accepts gzip.
+     * @param response    The response to write to.
+     * @throws IOException If the response cannot be written.
+     */
+    private static void write(ResponseCache.CachedResponse cached, boolean acceptsGzip, HttpServletResponse response) throws IOException {
+        byte[] body = cached.body();
+        if (acceptsGzip && cached.gzipped() != null) {
+            body = cached.gzipped();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(CACHE_HEADER, "HIT");
+        response.setContentType(cached.contentType());
+        if (cached.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Builds the cache key: the path followed by the query parameters sorted by name, each with its values in order.
+     *
+     * @param request The request.
+     * @return The normalized key.
+     */
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            key.append(separator).append(parameter.getKey()).append('=').append(Arrays.toString(parameter.getValue()));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    /**
+     * Tells whether the client accepts gzip content encoding.
+     *
+     * @param request The request.
+     * @return true if the Accept-Encoding header lists gzip.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
@@ -0,0 +1,28 @@
+package mx.alura.api.infra.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Response cache settings bound from {@code api.response-cache}.
+ *
+ * @param enabled      Whether GET responses of the cached regions are stored and served from memory.
+ * @param maxSize      The total size of the stored bodies, gzipped copies included.
+ * @param maxEntrySize The largest body that is stored; larger responses are never cached.
+ * @param ttl          How long a response is served before it is rendered again, even without writes.
+ * @param gzip         Whether a gzipped copy is stored next to each body and served to clients that accept it.
+ * @param gzipMinSize  The smallest body worth compressing.
+ */
+@ConfigurationProperties("api.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32MB") DataSize maxSize,
+        @DefaultValue("512KB") DataSize maxEntrySize,
+        @DefaultValue("60s") Duration ttl,
+        @DefaultValue("true") boolean gzip,
+        @DefaultValue("1KB") DataSize gzipMinSize
+) {
+}
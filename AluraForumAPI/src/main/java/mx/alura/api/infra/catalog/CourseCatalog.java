@@ -0,0 +1,219 @@
+package mx.alura.api.infra.catalog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.alura.api.infra.search.Tokenizer;
+import mx.alura.api.record.course.ResponseCourseData;
+import mx.alura.api.repository.CourseRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Immutable in-memory copy of the courses table.
+ * Readers use the current snapshot without locking; every course write builds a new snapshot
+ * after its transaction commits and publishes it with a single volatile write.
+ * The snapshot is loaded before the web server starts accepting requests and reloaded every minute.
+ */
+@Component
+public class CourseCatalog implements SmartInitializingSingleton {
+
+    private static final Comparator<ResponseCourseData> BY_ID = Comparator.comparing(ResponseCourseData::id);
+
+    private static final Comparator<ResponseCourseData> BY_NAME = Comparator
+            .comparing((ResponseCourseData course) -> Tokenizer.normalize(course.name()))
+            .thenComparing(ResponseCourseData::id);
+
+    private final CourseRepository courseRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of());
+
+    private long changes;
+
+    /**
+     * Constructs a new CourseCatalog instance.
+     *
+     * @param courseRepository   The repository the snapshot is loaded from.
+     * @param transactionManager The transaction manager that runs the load.
+     * @param meterRegistry      The registry where the number of courses is published.
+     */
+    public CourseCatalog(
+            CourseRepository courseRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.courseRepository = courseRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("forum.catalog.courses", this, catalog -> catalog.snapshot.byId.size())
+                .description("Courses held in the in-memory catalog")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the catalog once every bean is ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Replaces the snapshot with the current content of the courses table, picking up rows
+     * written outside this instance. A reload that races with a local write is dropped,
+     * since the write may be newer than the rows read; the next reload picks both up.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void reload() {
+        long changesBefore;
+        synchronized (this) {
+            changesBefore = changes;
+        }
+        List<ResponseCourseData> courses = readOnlyTransaction.execute(status -> courseRepository.findAllResponseData());
+        synchronized (this) {
+            if (changes == changesBefore) {
+                snapshot = new Snapshot(courses);
+            }
+        }
+    }
+
+    /**
+     * Resolves a course name to its ID. Like the database collation, case and accents are ignored.
+     *
+     * @param name The course name.
+     * @return The ID of the course, if it exists.
+     */
+    public Optional<Long> findId(String name) {
+        return Optional.ofNullable(snapshot.idByName.get(Tokenizer.normalize(name)));
+    }
+
+    /**
+     * Retrieves a course.
+     *
+     * @param id The ID of the course.
+     * @return The course, if it exists.
+     */
+    public Optional<ResponseCourseData> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId.get(id));
+    }
+
+    /**
+     * Lists a page of courses sorted by name or ID; other sort properties are ignored.
+     *
+     * @param pageable The page request.
+     * @return The page of courses.
+     */
+    public Page<ResponseCourseData> list(Pageable pageable) {
+        Snapshot current = snapshot;
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        List<ResponseCourseData> sorted = "name".equals(order.getProperty()) ? current.sortedByName : current.sortedById;
+        if (order.isDescending()) {
+            sorted = new ArrayList<>(sorted);
+            Collections.reverse(sorted);
+        }
+
+        int total = sorted.size();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted, pageable, total);
+        }
+        int from = (int) Math.min(pageable.getOffset(), total);
+        List<ResponseCourseData> content = sorted.subList(from, Math.min(from + pageable.getPageSize(), total));
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Adds or replaces a course once the current transaction commits.
+     *
+     * @param course The course data.
+     */
+    public void put(ResponseCourseData course) {
+        afterCommit(courses -> courses.put(course.id(), course));
+    }
+
+    /**
+     * Removes a course once the current transaction commits.
+     *
+     * @param id The ID of the course.
+     */
+    public void remove(Long id) {
+        afterCommit(courses -> courses.remove(id));
+    }
+
+    /**
+     * Applies a change to a copy of the catalog now, or after the current transaction commits.
+     *
+     * @param change The change applied to a mutable copy of the courses by ID.
+     */
+    private void afterCommit(Consumer<Map<Long, ResponseCourseData>> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    /**
+     * Builds and publishes a new snapshot with the change applied.
+     *
+     * @param change The change applied to a mutable copy of the courses by ID.
+     */
+    private synchronized void apply(Consumer<Map<Long, ResponseCourseData>> change) {
+        Map<Long, ResponseCourseData> courses = new HashMap<>(snapshot.byId);
+        change.accept(courses);
+        snapshot = new Snapshot(courses.values());
+        changes++;
+    }
+
+    /**
+     * One immutable version of the catalog, indexed for every lookup it serves.
+     */
+    private static final class Snapshot {
+
+        private final Map<Long, ResponseCourseData> byId;
+
+        private final Map<String, Long> idByName;
+
+        private final List<ResponseCourseData> sortedById;
+
+        private final List<ResponseCourseData> sortedByName;
+
+        private Snapshot(Collection<ResponseCourseData> courses) {
+            Map<Long, ResponseCourseData> courseById = new HashMap<>();
+            Map<String, Long> courseIdByName = new HashMap<>();
+            for (ResponseCourseData course : courses) {
+                courseById.put(course.id(), course);
+                courseIdByName.put(Tokenizer.normalize(course.name()), course.id());
+            }
+            this.byId = Map.copyOf(courseById);
+            this.idByName = Map.copyOf(courseIdByName);
+            this.sortedById = courses.stream().sorted(BY_ID).toList();
+            this.sortedByName = courses.stream().sorted(BY_NAME).toList();
+        }
+    }
+}
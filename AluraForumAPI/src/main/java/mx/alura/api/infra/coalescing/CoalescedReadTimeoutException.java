@@ -0,0 +1,31 @@
+package mx.alura.api.infra.coalescing;
+
+import java.time.Duration;
+
+/**
+ * Thrown to a request that waited too long for a load started by another request.
+ * It carries no stack trace, since many waiters may time out together when the database stalls.
+ */
+public class CoalescedReadTimeoutException extends RuntimeException {
+
+    private final Duration timeout;
+
+    /**
+     * Constructs a new CoalescedReadTimeoutException.
+     *
+     * @param timeout How long the request waited.
+     */
+    public CoalescedReadTimeoutException(Duration timeout) {
+        super("Timed out waiting for a shared load", null, false, false);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns how long the request waited.
+     *
+     * @return The wait timeout.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
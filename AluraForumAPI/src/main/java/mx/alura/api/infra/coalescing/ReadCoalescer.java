@@ -0,0 +1,100 @@
+package mx.alura.api.infra.coalescing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.alura.api.infra.datasource.ReadConsistency;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Lets concurrent identical reads share one database load. Only the request that starts a load opens
+ * a read-only transaction; the others wait for its result without taking a connection.
+ * Loads are shared only between callers with the same authorities, and between callers that must read
+ * from the primary, so no request receives data it would not have loaded itself. A read whose result
+ * depends on the user beyond their authorities must include the user in its ID.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final SingleFlight<Key, Object> flights;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructs a new ReadCoalescer instance.
+     *
+     * @param transactionManager The transaction manager that runs each load.
+     * @param timeout            How long a request waits for a load started by another request.
+     * @param meterRegistry      The registry where the load, shared and timeout counters are published.
+     */
+    public ReadCoalescer(
+            PlatformTransactionManager transactionManager,
+            @Value("${api.coalescing.timeout:2s}") Duration timeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.flights = new SingleFlight<>(timeout);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        FunctionCounter.builder("forum.coalescing.loads", flights, SingleFlight::loads)
+                .description("Reads that queried the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.coalescing.shared", flights, SingleFlight::shared)
+                .description("Reads answered by a load another request started")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.coalescing.timeouts", flights, SingleFlight::timeouts)
+                .description("Reads that gave up waiting for a shared load")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads a value in a read-only transaction, or waits for the identical load already running.
+     *
+     * @param type   The type of the loaded value, which also separates loads of different resources.
+     * @param id     The ID of the resource.
+     * @param loader The load to run.
+     * @param <T>    The type of the loaded value.
+     * @return The loaded value.
+     * @throws CoalescedReadTimeoutException If the shared load did not finish within the timeout.
+     */
+    public <T> T load(Class<T> type, Object id, Supplier<T> loader) {
+        Key key = new Key(type, id, authorities(), ReadConsistency.isPrimaryRequired());
+        return type.cast(flights.run(key, () -> readOnlyTransaction.execute(status -> loader.get())));
+    }
+
+    /**
+     * Lists the authorities of the current request.
+     *
+     * @return The authority names, empty for anonymous requests.
+     */
+    private static Set<String> authorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Set.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Identifies loads whose results are interchangeable.
+     *
+     * @param type        The type of the loaded value.
+     * @param id          The ID of the resource.
+     * @param authorities The authorities of the caller.
+     * @param primary     Whether the caller must read from the primary.
+     */
+    private record Key(Class<?> type, Object id, Set<String> authorities, boolean primary) {
+    }
+}
@@ -0,0 +1,113 @@
+package mx.alura.api.infra.coalescing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time. The first caller for a key runs the loader on its own thread;
+ * callers arriving while it runs wait for the same result, or receive the same exception.
+ * Nothing is kept once the load finishes, so a later call loads again.
+ *
+ * @param <K> The key type.
+ * @param <V> The loaded value type.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration timeout;
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private final AtomicLong shared = new AtomicLong();
+
+    private final AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * Constructs a new SingleFlight instance.
+     *
+     * @param timeout How long a caller waits for a load started by another caller.
+     */
+    public SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the value for the key, loading it unless a load for the same key is already running.
+     *
+     * @param key    The key identifying identical loads.
+     * @param loader The load to run when no other caller is running it.
+     * @return The loaded value.
+     * @throws CoalescedReadTimeoutException If the shared load did not finish within the timeout.
+     */
+    public V run(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running == null) {
+            loads.incrementAndGet();
+            try {
+                V value = loader.get();
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        shared.incrementAndGet();
+        try {
+            return running.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            throw new CoalescedReadTimeoutException(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoalescedReadTimeoutException(timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Counts the loads that were run.
+     *
+     * @return The number of callers that ran the loader.
+     */
+    public long loads() {
+        return loads.get();
+    }
+
+    /**
+     * Counts the callers that waited for another caller's load.
+     *
+     * @return The number of callers that shared a load.
+     */
+    public long shared() {
+        return shared.get();
+    }
+
+    /**
+     * Counts the callers that gave up waiting.
+     *
+     * @return The number of timed out waits.
+     */
+    public long timeouts() {
+        return timeouts.get();
+    }
+}
@@ -0,0 +1,58 @@
+package mx.alura.api.infra.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread flag that forces read-only transactions onto the primary database.
+ * {@link ReadYourWritesFilter} sets it for requests that must observe their own writes.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Routes every statement of the current thread to the primary until {@link #reset()} is called.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Tells whether the current thread must read from the primary.
+     *
+     * @return true if replicas must not be used.
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Clears the flag of the current thread.
+     */
+    public static void reset() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Runs a read on the primary, for lookups that must not miss a write replicas may not have yet.
+     * The flag is restored afterwards, so a request already pinned to the primary stays pinned.
+     *
+     * @param read The read to run.
+     * @param <T>  The type of the result.
+     * @return The result of the read.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isPrimaryRequired()) {
+            return read.get();
+        }
+        requirePrimary();
+        try {
+            return read.get();
+        } finally {
+            reset();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package mx.alura.api.infra.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps requests that must see their own writes on the primary database.
+ * A request is pinned when it writes, when it asks for it with {@value #CONSISTENCY_HEADER}: primary,
+ * or when the same bearer token wrote within the sticky window, so replica lag cannot hide the change.
+ * Runs before the response cache filter, which serves pinned requests from the database too.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.datasource", name = "replicas[0].url")
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header a client can send to read from the primary.
+     */
+    public static final String CONSISTENCY_HEADER = "X-Read-Consistency";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long stickyWindowNanos;
+
+    /**
+     * Constructs a new ReadYourWritesFilter instance.
+     *
+     * @param properties The replica settings holding the sticky window.
+     */
+    public ReadYourWritesFilter(ReplicaProperties properties) {
+        this.stickyWindowNanos = properties.stickyWindow().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getHeader(HttpHeaders.AUTHORIZATION);
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        if (write || "primary".equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER)) || wroteRecently(client)) {
+            ReadConsistency.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.reset();
+            if (write && client != null) {
+                lastWrites.put(client, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Forgets clients whose sticky window is over.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredWrites() {
+        long threshold = System.nanoTime() - stickyWindowNanos;
+        lastWrites.values().removeIf(writtenAt -> writtenAt < threshold);
+    }
+
+    /**
+     * Tells whether the client wrote within the sticky window.
+     *
+     * @param client The Authorization header of the request, or null.
+     * @return true if the client's reads must go to the primary.
+     */
+    private boolean wroteRecently(String client) {
+        if (client == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(client);
+        return writtenAt != null && System.nanoTime() - writtenAt < stickyWindowNanos;
+    }
+}
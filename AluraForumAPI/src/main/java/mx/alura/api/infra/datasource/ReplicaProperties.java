@@ -0,0 +1,39 @@
+package mx.alura.api.infra.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replica settings bound from {@code api.datasource}.
+ * Routing is only enabled when at least one replica is configured.
+ *
+ * @param replicas           The replicas that serve read-only transactions.
+ * @param stickyWindow       How long a client's reads stay on the primary after it wrote.
+ * @param healthCheckTimeout How long a replica may take to hand out or validate a connection before it is marked down; at least 250ms.
+ */
+@ConfigurationProperties("api.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration stickyWindow,
+        @DefaultValue("1s") Duration healthCheckTimeout
+) {
+
+    /**
+     * Connection settings of one replica.
+     *
+     * @param url             The JDBC URL of the replica.
+     * @param username        The database user.
+     * @param password        The database password.
+     * @param maximumPoolSize The size of the replica connection pool.
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
@@ -0,0 +1,97 @@
+package mx.alura.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions to replicas.
+ * Only active when {@code api.datasource.replicas} lists at least one replica; otherwise Spring Boot
+ * keeps its single {@code spring.datasource} pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "api.datasource", name = "replicas[0].url")
+public class ReplicaRoutingConfiguration {
+
+    private static final long MINIMUM_TIMEOUT_MILLIS = 250;
+
+    /**
+     * Builds the primary pool from {@code spring.datasource}.
+     *
+     * @param dataSourceProperties The standard DataSource settings.
+     * @return The primary connection pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Builds one read-only pool per replica and the router in front of them.
+     * Replica pools wait at most the health check timeout for a connection, so a replica that goes
+     * down sends reads to the primary after that delay rather than Hikari's 30 seconds. They also
+     * start without connecting, so a replica that is down at startup is marked down instead of failing reads.
+     *
+     * @param primaryDataSource The primary connection pool.
+     * @param properties        The replica settings.
+     * @param meterRegistry     The registry where the number of healthy replicas is published.
+     * @return The routing DataSource.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        long timeoutMillis = Math.max(MINIMUM_TIMEOUT_MILLIS, properties.healthCheckTimeout().toMillis());
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setMaximumPoolSize(replica.maximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(timeoutMillis);
+            pool.setValidationTimeout(timeoutMillis);
+            pool.setInitializationFailTimeout(-1);
+            replicas.add(pool);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicas,
+                properties.healthCheckTimeout()
+        );
+        Gauge.builder("forum.datasource.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicas)
+                .description("Read replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+        return routing;
+    }
+
+    /**
+     * Exposes the router as the application DataSource. The lazy proxy defers fetching a
+     * physical connection until the first statement, when the transaction's read-only flag is set.
+     *
+     * @param replicaRoutingDataSource The routing DataSource.
+     * @return The DataSource used by JPA, Flyway and JDBC.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,155 @@
+package mx.alura.api.infra.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * DataSource that sends read-only transactions to healthy replicas in round-robin order
+ * and everything else to the primary.
+ * It must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the read-only flag of a transaction is only known once the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplicaRoutingDataSource.class.getName());
+
+    private final DataSource primary;
+
+    private final List<ReplicaNode> replicas;
+
+    private final int healthCheckTimeoutSeconds;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs a new ReplicaRoutingDataSource instance.
+     *
+     * @param primary            The DataSource for writes and consistent reads.
+     * @param replicas           The DataSources for read-only transactions.
+     * @param healthCheckTimeout How long a replica may take to validate a connection.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckTimeout) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(ReplicaNode::new).toList();
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaNode replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ReplicaNode replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Counts the replicas currently accepting reads.
+     *
+     * @return The number of healthy replicas.
+     */
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Validates a connection of every replica, bringing recovered replicas back into rotation.
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void checkReplicas() {
+        for (ReplicaNode replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    /**
+     * Closes the replica pools. The primary is owned by its own bean and left open.
+     *
+     * @throws Exception If a replica pool fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        for (ReplicaNode replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Picks the next healthy replica when the current transaction is read-only.
+     *
+     * @return The replica to use, or null if the primary must serve the connection.
+     */
+    private ReplicaNode selectReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadConsistency.isPrimaryRequired()) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a replica out of rotation until the next successful health check.
+     *
+     * @param replica The failing replica.
+     * @param e       The error raised by the replica.
+     */
+    private static void markDown(ReplicaNode replica, SQLException e) {
+        if (replica.healthy) {
+            LOGGER.warning("Read replica marked down: " + e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    /**
+     * A replica DataSource together with its last known health.
+     */
+    private static final class ReplicaNode {
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        private ReplicaNode(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package mx.alura.api.infra.errors;
 
 import jakarta.persistence.EntityNotFoundException;
+import mx.alura.api.infra.coalescing.CoalescedReadTimeoutException;
+import mx.alura.api.infra.etag.PreconditionFailedException;
+import mx.alura.api.infra.pagination.PageableNotAllowedException;
+import mx.alura.api.infra.security.InvalidTokenException;
+import mx.alura.api.infra.security.PasswordHashingOverloadedException;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -120,6 +127,93 @@ public class ErrorHandler {
         return ResponseEntity.badRequest().body(errorMessage);
     }
 
+    /**
+     * Handles InvalidCursorException and returns a 400 Bad Request response with the error message.
+     *
+     * @param e The InvalidCursorException.
+     * @return ResponseEntity with a 400 status code and the error message.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Handles PageableNotAllowedException and returns a 400 Bad Request response with the error message.
+     *
+     * @param e The PageableNotAllowedException.
+     * @return ResponseEntity with a 400 status code and the error message.
+     */
+    @ExceptionHandler(PageableNotAllowedException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<String> handlePageableNotAllowed(PageableNotAllowedException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Handles InvalidTokenException and returns a 401 Unauthorized response.
+     *
+     * @return ResponseEntity with a 401 status code and an error message.
+     */
+    @ExceptionHandler(InvalidTokenException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ResponseEntity<String> handleInvalidToken() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
+    }
+
+    /**
+     * Handles PasswordHashingOverloadedException and returns a 503 Service Unavailable response with Retry-After.
+     *
+     * @param e The PasswordHashingOverloadedException.
+     * @return ResponseEntity with a 503 status code and an error message.
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handlePasswordHashingOverloaded(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body("The server is busy, please try again later.");
+    }
+
+    /**
+     * Handles CoalescedReadTimeoutException and returns a 503 Service Unavailable response with Retry-After.
+     *
+     * @param e The CoalescedReadTimeoutException.
+     * @return ResponseEntity with a 503 status code and an error message.
+     */
+    @ExceptionHandler(CoalescedReadTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleCoalescedReadTimeout(CoalescedReadTimeoutException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getTimeout().toSeconds())))
+                .body("The server is busy, please try again later.");
+    }
+
+    /**
+     * Handles PreconditionFailedException and returns a 412 Precondition Failed response.
+     *
+     * @param e The PreconditionFailedException.
+     * @return ResponseEntity with a 412 status code and the error message.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<String> handlePreconditionFailed(PreconditionFailedException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException, raised when a concurrent request updated the same row
+     * first, and returns a 409 Conflict response.
+     *
+     * @return ResponseEntity with a 409 status code and an error message.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<String> handleOptimisticLockingFailure() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The resource was modified by another request, please reload it and try again.");
+    }
+
 
     /**
      * Represents a validation error with field and error details.
@@ -0,0 +1,16 @@
+package mx.alura.api.infra.errors;
+
+/**
+ * Thrown when a pagination cursor sent by a client cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidCursorException.
+     *
+     * @param message The reason the cursor was rejected.
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
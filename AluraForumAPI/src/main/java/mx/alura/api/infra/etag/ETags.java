@@ -0,0 +1,136 @@
+package mx.alura.api.infra.etag;
+
+import mx.alura.api.record.pagination.CursorPageData;
+import org.springframework.data.domain.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds entity tags from row versions, so a response can be tagged, and a conditional request
+ * answered, without serializing the body.
+ * A single row is tagged with its version. A page is tagged with a weak hash of its position,
+ * total and the ID and version of each row: any insert, update or delete that changes the page
+ * changes the tag.
+ */
+public final class ETags {
+
+    private static final Pattern ENTITY_TAG = Pattern.compile("\\*|(W/)?(\"[^\"]*\")");
+
+    private static final int HASH_BYTES = 16;
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong tag of a row version.
+     *
+     * @param version The version of the row.
+     * @return The quoted entity tag.
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds the strong tag of a row.
+     *
+     * @param row The response data of the row.
+     * @return The quoted entity tag.
+     */
+    public static String of(Versioned row) {
+        return of(row.version());
+    }
+
+    /**
+     * Builds the weak tag of a page.
+     *
+     * @param page The page.
+     * @return The weak entity tag.
+     */
+    public static String of(Page<? extends Versioned> page) {
+        StringBuilder state = new StringBuilder()
+                .append(page.getNumber()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page.getTotalElements()).append('/')
+                .append(page.getSort());
+        return weak(state, page.getContent());
+    }
+
+    /**
+     * Builds the weak tag of a cursor page.
+     *
+     * @param page The cursor page.
+     * @return The weak entity tag.
+     */
+    public static String of(CursorPageData<? extends Versioned> page) {
+        return weak(new StringBuilder(String.valueOf(page.nextCursor())), page.content());
+    }
+
+    /**
+     * Tells whether an If-None-Match header lists the tag, using the weak comparison RFC 9110 prescribes for it.
+     *
+     * @param ifNoneMatch The If-None-Match header, or null when absent.
+     * @param etag        The current tag of the resource.
+     * @return true if the client already holds the current representation.
+     */
+    public static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        Matcher matcher = ENTITY_TAG.matcher(ifNoneMatch);
+        while (matcher.find()) {
+            if (matcher.group().equals("*") || opaque.equals(matcher.group(2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks an If-Match header against the current version of a row, using strong comparison.
+     * Updates without the header are not checked.
+     *
+     * @param ifMatch The If-Match header, or null when absent.
+     * @param version The current version of the row.
+     * @throws PreconditionFailedException If the header neither lists the current tag nor is {@code *}.
+     */
+    public static void checkIfMatch(String ifMatch, long version) {
+        if (ifMatch == null) {
+            return;
+        }
+        String etag = of(version);
+        Matcher matcher = ENTITY_TAG.matcher(ifMatch);
+        while (matcher.find()) {
+            if (matcher.group().equals("*") || (matcher.group(1) == null && etag.equals(matcher.group(2)))) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException();
+    }
+
+    /**
+     * Hashes the state of a page followed by the ID and version of each row into a weak tag.
+     *
+     * @param state The page state that is not part of the rows.
+     * @param rows  The rows of the page.
+     * @return The weak entity tag.
+     */
+    private static String weak(StringBuilder state, List<? extends Versioned> rows) {
+        for (Versioned row : rows) {
+            state.append(';').append(row.id()).append(':').append(row.version());
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(state.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, HASH_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
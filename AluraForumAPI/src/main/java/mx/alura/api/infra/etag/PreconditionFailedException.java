@@ -0,0 +1,15 @@
+package mx.alura.api.infra.etag;
+
+/**
+ * Thrown when the If-Match header of an update does not name the current version of the row,
+ * meaning the client read the row before another request changed it.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new PreconditionFailedException.
+     */
+    public PreconditionFailedException() {
+        super("The resource was modified since it was read");
+    }
+}
@@ -0,0 +1,22 @@
+package mx.alura.api.infra.etag;
+
+/**
+ * Response data of a single row, carrying the version the row had when it was read.
+ * Records implement it through their {@code id} and {@code version} components.
+ */
+public interface Versioned {
+
+    /**
+     * Returns the ID of the row.
+     *
+     * @return The row ID.
+     */
+    Long id();
+
+    /**
+     * Returns the version of the row, incremented by every update.
+     *
+     * @return The row version.
+     */
+    Long version();
+}
@@ -0,0 +1,12 @@
+package mx.alura.api.infra.invalidation;
+
+/**
+ * Kinds of rows whose changes are broadcast on the {@link InvalidationBus}.
+ */
+public enum ChangedEntity {
+    USER,
+    COURSE,
+    POST,
+    MESSAGE,
+    REVOKED_TOKEN
+}
@@ -0,0 +1,185 @@
+package mx.alura.api.infra.invalidation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.alura.api.infra.datasource.ReadConsistency;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Broadcasts committed row changes to the other instances of the application, so each one can drop
+ * what it cached for those rows. Writes publish their changes; they are sent together once the
+ * transaction commits and never if it rolls back. Events received from peers are handed to every
+ * {@link InvalidationListener}; events sent by this instance are ignored, since the write already
+ * updated the local caches.
+ */
+@Component
+public class InvalidationBus implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = Logger.getLogger(InvalidationBus.class.getName());
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final InvalidationTransport transport;
+
+    private final ObjectProvider<InvalidationListener> listeners;
+
+    private final AtomicLong published = new AtomicLong();
+
+    private final AtomicLong received = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Constructs a new InvalidationBus instance.
+     *
+     * @param transport     The transport carrying events between instances; none when running a single instance.
+     * @param listeners     The components refreshed when a peer changes a row.
+     * @param meterRegistry The registry where the published, received and failed event counters are published.
+     */
+    public InvalidationBus(
+            ObjectProvider<InvalidationTransport> transport,
+            ObjectProvider<InvalidationListener> listeners,
+            MeterRegistry meterRegistry
+    ) {
+        this.transport = transport.getIfAvailable();
+        this.listeners = listeners;
+
+        FunctionCounter.builder("forum.invalidation.published", published, AtomicLong::get)
+                .description("Row changes sent to the other instances")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.invalidation.received", received, AtomicLong::get)
+                .description("Row changes received from the other instances")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.invalidation.failures", failures, AtomicLong::get)
+                .description("Row changes that could not be sent or applied")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts receiving the changes of the other instances once every bean is ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (transport != null) {
+            transport.subscribe(this::receive);
+        }
+    }
+
+    /**
+     * Publishes a change to a row. Inside a transaction it is sent once the transaction commits,
+     * together with the other changes of the transaction.
+     *
+     * @param entity The kind of row that changed.
+     * @param id     The ID of the row, or null when any row of the kind may have changed.
+     */
+    public void publish(ChangedEntity entity, Long id) {
+        publish(new InvalidationEvent(nodeId, entity, id));
+    }
+
+    /**
+     * Publishes a change to a row identified by a string key, such as the jti of a revoked token.
+     * Inside a transaction it is sent once the transaction commits.
+     *
+     * @param entity The kind of row that changed.
+     * @param key    The key of the row.
+     */
+    public void publishKey(ChangedEntity entity, String key) {
+        publish(new InvalidationEvent(nodeId, entity, null, key));
+    }
+
+    /**
+     * Sends an event now, or queues it until the current transaction commits.
+     *
+     * @param event The event to publish.
+     */
+    private void publish(InvalidationEvent event) {
+        if (transport == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(event));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<InvalidationEvent> pending = (Set<InvalidationEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<InvalidationEvent> events = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(InvalidationBus.this);
+                    if (status == STATUS_COMMITTED) {
+                        send(new ArrayList<>(events));
+                    }
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Sends events; a failure is logged rather than thrown, since the write itself has committed.
+     * Peers then serve the stale entries until they expire or are reloaded.
+     *
+     * @param events The events to send.
+     */
+    private void send(List<InvalidationEvent> events) {
+        try {
+            transport.send(events);
+            published.addAndGet(events.size());
+        } catch (RuntimeException e) {
+            failures.addAndGet(events.size());
+            LOGGER.log(Level.WARNING, "Could not publish cache invalidations", e);
+        }
+    }
+
+    /**
+     * Hands the events of other instances to every listener, skipping repeats of the same row.
+     * Listeners read from the primary, since a replica may not have the change yet.
+     *
+     * @param events The events read by the transport.
+     */
+    private void receive(List<InvalidationEvent> events) {
+        Map<List<Object>, InvalidationEvent> changes = new LinkedHashMap<>();
+        for (InvalidationEvent event : events) {
+            if (!nodeId.equals(event.origin())) {
+                changes.putIfAbsent(Arrays.asList(event.entity(), event.id(), event.key()), event);
+            }
+        }
+        ReadConsistency.requirePrimary();
+        try {
+            for (InvalidationEvent change : changes.values()) {
+                received.incrementAndGet();
+                listeners.orderedStream().forEach(listener -> {
+                    try {
+                        listener.onInvalidation(change);
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                        LOGGER.log(Level.WARNING, "Could not apply cache invalidation " + change, e);
+                    }
+                });
+            }
+        } finally {
+            ReadConsistency.reset();
+        }
+    }
+}
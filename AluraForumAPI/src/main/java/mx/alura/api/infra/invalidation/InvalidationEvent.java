@@ -0,0 +1,28 @@
+package mx.alura.api.infra.invalidation;
+
+/**
+ * A committed change to one row, or to many rows of a kind.
+ *
+ * @param origin The ID of the instance that made the change.
+ * @param entity The kind of row that changed.
+ * @param id     The ID of the changed row, or null when any row of the kind may have changed.
+ * @param key    The string key of the changed row, for rows not identified by a number; null otherwise.
+ */
+public record InvalidationEvent(
+        String origin,
+        ChangedEntity entity,
+        Long id,
+        String key
+) {
+
+    /**
+     * Creates an event for a row identified by a number.
+     *
+     * @param origin The ID of the instance that made the change.
+     * @param entity The kind of row that changed.
+     * @param id     The ID of the changed row, or null when any row of the kind may have changed.
+     */
+    public InvalidationEvent(String origin, ChangedEntity entity, Long id) {
+        this(origin, entity, id, null);
+    }
+}
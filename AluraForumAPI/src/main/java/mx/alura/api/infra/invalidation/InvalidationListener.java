@@ -0,0 +1,16 @@
+package mx.alura.api.infra.invalidation;
+
+/**
+ * Drops or refreshes local state when another instance changes a row.
+ * Every bean implementing this interface receives the events of the {@link InvalidationBus}.
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+    /**
+     * Handles a change made by another instance.
+     *
+     * @param event The change.
+     */
+    void onInvalidation(InvalidationEvent event);
+}
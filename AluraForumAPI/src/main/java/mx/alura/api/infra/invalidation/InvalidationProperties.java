@@ -0,0 +1,25 @@
+package mx.alura.api.infra.invalidation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cross-instance invalidation settings bound from {@code api.invalidation}.
+ *
+ * @param transport    The transport carrying events between instances: {@code jdbc}, or {@code none} for a single instance.
+ * @param pollInterval How often the {@code cache_invalidations} table is read; bounds how late peers see a change.
+ * @param batchSize    The maximum number of rows read per query.
+ * @param gapTimeout   How long a missing row ID is waited for before it is skipped, for inserts that commit out of order.
+ * @param retention    How long rows are kept before they are deleted.
+ */
+@ConfigurationProperties("api.invalidation")
+public record InvalidationProperties(
+        @DefaultValue("jdbc") String transport,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("10s") Duration gapTimeout,
+        @DefaultValue("1h") Duration retention
+) {
+}
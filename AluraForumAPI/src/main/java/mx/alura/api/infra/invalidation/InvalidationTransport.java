@@ -0,0 +1,26 @@
+package mx.alura.api.infra.invalidation;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation events between instances.
+ * Implementations are selected with {@code api.invalidation.transport}; the default polls a database table.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Delivers events to every instance, the sender included.
+     * Called after the transaction that made the changes has committed.
+     *
+     * @param events The events to deliver.
+     */
+    void send(List<InvalidationEvent> events);
+
+    /**
+     * Starts delivering the events sent from now on.
+     *
+     * @param receiver Callback receiving each group of events, in the order they were sent.
+     */
+    void subscribe(Consumer<List<InvalidationEvent>> receiver);
+}
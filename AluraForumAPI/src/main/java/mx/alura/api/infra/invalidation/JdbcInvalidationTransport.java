@@ -0,0 +1,181 @@
+package mx.alura.api.infra.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Invalidation transport that needs nothing but the application database. Senders append rows to
+ * {@code cache_invalidations}; every instance polls the rows added since its last read.
+ * Auto-increment IDs are handed out at insert time but become visible at commit time, so a lower ID
+ * can show up after a higher one. Rows are therefore read again until they are older than the gap
+ * timeout, and delivered only the first time they are seen.
+ */
+@Component
+@ConditionalOnProperty(prefix = "api.invalidation", name = "transport", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger LOGGER = Logger.getLogger(JdbcInvalidationTransport.class.getName());
+
+    private static final String INSERT = """
+            INSERT INTO cache_invalidations (origin, entity, entity_id, entity_key)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_AFTER = """
+            SELECT id, origin, entity, entity_id, entity_key
+            FROM cache_invalidations
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate newTransaction;
+
+    private final TaskScheduler taskScheduler;
+
+    private final InvalidationProperties properties;
+
+    private final NavigableMap<Long, Long> seenAt = new TreeMap<>();
+
+    private long watermark;
+
+    private Consumer<List<InvalidationEvent>> receiver;
+
+    /**
+     * Constructs a new JdbcInvalidationTransport instance.
+     *
+     * @param jdbcTemplate       The template used to write and read the rows.
+     * @param transactionManager The transaction manager that commits each sent group of rows.
+     * @param taskScheduler      The scheduler running the poll.
+     * @param properties         The invalidation settings.
+     */
+    public JdbcInvalidationTransport(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            InvalidationProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+    }
+
+    /**
+     * Inserts one row per event in a transaction of its own, since the caller runs
+     * after the commit of the transaction that made the changes.
+     *
+     * @param events The events to deliver.
+     */
+    @Override
+    public void send(List<InvalidationEvent> events) {
+        newTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.origin());
+            statement.setString(2, event.entity().name());
+            statement.setObject(3, event.id());
+            statement.setString(4, event.key());
+        }));
+    }
+
+    /**
+     * Starts polling from the rows currently in the table; older rows describe changes
+     * the caches of this instance were loaded after.
+     *
+     * @param receiver Callback receiving each group of events, in the order they were sent.
+     */
+    @Override
+    public synchronized void subscribe(Consumer<List<InvalidationEvent>> receiver) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class);
+        this.watermark = max != null ? max : 0;
+        this.receiver = receiver;
+        taskScheduler.scheduleWithFixedDelay(this::pollSafely, properties.pollInterval());
+    }
+
+    /**
+     * Deletes the rows older than the retention period.
+     */
+    @Scheduled(cron = "0 */10 * * * *")
+    public void purge() {
+        Timestamp before = Timestamp.from(Instant.now().minus(properties.retention()));
+        jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?", before);
+    }
+
+    /**
+     * Runs one poll, logging failures so the schedule keeps running while the database is unreachable.
+     */
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not read cache invalidations", e);
+        }
+    }
+
+    /**
+     * Reads the rows above the watermark, delivers the ones not seen before, then moves the watermark
+     * past the rows seen longer ago than the gap timeout.
+     */
+    private synchronized void poll() {
+        long now = System.nanoTime();
+        List<InvalidationEvent> fresh = new ArrayList<>();
+        long after = watermark;
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query(SELECT_AFTER, (resultSet, rowNumber) -> new Row(
+                    resultSet.getLong("id"),
+                    new InvalidationEvent(
+                            resultSet.getString("origin"),
+                            ChangedEntity.valueOf(resultSet.getString("entity")),
+                            resultSet.getObject("entity_id", Long.class),
+                            resultSet.getString("entity_key")
+                    )
+            ), after, properties.batchSize());
+            for (Row row : rows) {
+                if (seenAt.putIfAbsent(row.id(), now) == null) {
+                    fresh.add(row.event());
+                }
+                after = row.id();
+            }
+        } while (rows.size() == properties.batchSize());
+
+        if (!fresh.isEmpty()) {
+            receiver.accept(fresh);
+        }
+
+        long gapTimeout = properties.gapTimeout().toNanos();
+        for (var entry : seenAt.entrySet()) {
+            if (now - entry.getValue() >= gapTimeout) {
+                watermark = Math.max(watermark, entry.getKey());
+            }
+        }
+        seenAt.headMap(watermark, true).clear();
+    }
+
+    /**
+     * A row read from the table.
+     *
+     * @param id    The row ID.
+     * @param event The event it carries.
+     */
+    private record Row(long id, InvalidationEvent event) {
+    }
+}
@@ -0,0 +1,68 @@
+package mx.alura.api.infra.pagination;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Set;
+
+/**
+ * Resolves {@link Pageable} arguments through Spring Data and then rejects sort keys that are not
+ * index-backed and offsets deeper than the configured limit.
+ */
+public class GuardedPageableArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final Set<String> DEFAULT_SORT_KEYS = Set.of("id");
+
+    private final PageableHandlerMethodArgumentResolver delegate;
+
+    private final long maxOffset;
+
+    /**
+     * Constructs a new GuardedPageableArgumentResolver.
+     *
+     * @param delegate  The Spring Data resolver that parses page, size and sort parameters.
+     * @param maxOffset The deepest row offset a client may request.
+     */
+    public GuardedPageableArgumentResolver(PageableHandlerMethodArgumentResolver delegate, long maxOffset) {
+        this.delegate = delegate;
+        this.maxOffset = maxOffset;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Pageable.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Pageable resolveArgument(
+            MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory
+    ) {
+        Pageable pageable = delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+
+        if (pageable.isPaged() && pageable.getOffset() > maxOffset) {
+            throw new PageableNotAllowedException(
+                    "Offset " + pageable.getOffset() + " exceeds " + maxOffset + ", use the /cursor endpoint for deep pages."
+            );
+        }
+
+        IndexedSort indexedSort = parameter.getParameterAnnotation(IndexedSort.class);
+        Set<String> allowed = indexedSort != null ? Set.of(indexedSort.value()) : DEFAULT_SORT_KEYS;
+        for (Sort.Order order : pageable.getSort()) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new PageableNotAllowedException(
+                        "Sorting by '" + order.getProperty() + "' is not allowed, use one of " + allowed + "."
+                );
+            }
+        }
+        return pageable;
+    }
+}
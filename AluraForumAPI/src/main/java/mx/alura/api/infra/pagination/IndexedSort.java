@@ -0,0 +1,25 @@
+package mx.alura.api.infra.pagination;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lists the sort properties a {@link org.springframework.data.domain.Pageable} parameter accepts.
+ * Only properties backed by a database index should be listed. Parameters without this annotation
+ * may only be sorted by {@code id}.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IndexedSort {
+
+    /**
+     * The allowed sort properties.
+     *
+     * @return The entity property names that may be used for sorting.
+     */
+    String[] value();
+}
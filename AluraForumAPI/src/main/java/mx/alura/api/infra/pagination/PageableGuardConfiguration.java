@@ -0,0 +1,42 @@
+package mx.alura.api.infra.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class that registers the guarded pageable resolver ahead of Spring Data's own.
+ */
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PageableGuardConfiguration implements WebMvcConfigurer {
+
+    private final PageableHandlerMethodArgumentResolver pageableResolver;
+
+    private final long maxOffset;
+
+    /**
+     * Constructs a new PageableGuardConfiguration instance.
+     *
+     * @param pageableResolver The Spring Data resolver that parses page requests.
+     * @param maxOffset        The deepest row offset a client may request.
+     */
+    public PageableGuardConfiguration(
+            PageableHandlerMethodArgumentResolver pageableResolver,
+            @Value("${api.pagination.max-offset:1000}") long maxOffset
+    ) {
+        this.pageableResolver = pageableResolver;
+        this.maxOffset = maxOffset;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(0, new GuardedPageableArgumentResolver(pageableResolver, maxOffset));
+    }
+}
@@ -0,0 +1,16 @@
+package mx.alura.api.infra.pagination;
+
+/**
+ * Thrown when a client asks for a sort order or page depth the database cannot serve cheaply.
+ */
+public class PageableNotAllowedException extends RuntimeException {
+
+    /**
+     * Constructs a new PageableNotAllowedException.
+     *
+     * @param message The reason the page request was rejected.
+     */
+    public PageableNotAllowedException(String message) {
+        super(message);
+    }
+}
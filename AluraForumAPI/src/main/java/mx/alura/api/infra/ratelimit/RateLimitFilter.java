@@ -0,0 +1,176 @@
+package mx.alura.api.infra.ratelimit;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mx.alura.api.infra.security.InvalidTokenException;
+import mx.alura.api.infra.security.SecurityFilter;
+import mx.alura.api.infra.security.TokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter placed before the JWT security filter.
+ * Requests are keyed by the token subject when a bearer token verifies, otherwise by the remote IP,
+ * so a forged or expired token cannot pick a fresh bucket or drain another user's one.
+ * The verified token is handed to the security filter, which then does not verify it again.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final RateLimitProperties properties;
+
+    private final TokenService tokenService;
+
+    private final List<CompiledRoute> routes;
+
+    private final CompiledRoute defaultRoute;
+
+    private final Counter allowed;
+
+    private final Counter rejected;
+
+    /**
+     * Constructs a new RateLimitFilter instance.
+     *
+     * @param properties    The rate limiting settings.
+     * @param tokenService  The service that verifies bearer tokens.
+     * @param meterRegistry The registry where request outcomes and bucket count are published.
+     */
+    public RateLimitFilter(RateLimitProperties properties, TokenService tokenService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenService = tokenService;
+        this.defaultRoute = new CompiledRoute("default", null, properties.capacity(), properties.refillPerSecond());
+        this.routes = properties.routes().stream()
+                .map(route -> new CompiledRoute(
+                        route.pattern(),
+                        PathPatternParser.defaultInstance.parse(route.pattern()),
+                        route.capacity(),
+                        route.refillPerSecond()
+                ))
+                .toList();
+
+        this.allowed = Counter.builder("forum.ratelimit.requests")
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("forum.ratelimit.requests")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        Gauge.builder("forum.ratelimit.buckets", buckets, Map::size)
+                .description("Token buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    /**
+     * Consumes a token for the client and route, or answers 429 Too Many Requests.
+     *
+     * @param request     The incoming HTTP request.
+     * @param response    The HTTP response.
+     * @param filterChain The filter chain to continue processing the request.
+     * @throws ServletException If there is an error during the filter process.
+     * @throws IOException      If there is an I/O error during the filter process.
+     */
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        CompiledRoute route = resolveRoute(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(
+                route.name() + '|' + clientKey(request),
+                key -> new TokenBucket(route.capacity(), route.refillPerSecond(), now)
+        );
+
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.increment();
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"Too many requests.\"}");
+    }
+
+    /**
+     * Removes buckets that have not been used within the idle timeout.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long threshold = System.nanoTime() - properties.idleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> bucket.lastAccess() < threshold);
+    }
+
+    /**
+     * Finds the first configured route matching the request path.
+     *
+     * @param request The incoming HTTP request.
+     * @return The matching route, or the default route.
+     */
+    private CompiledRoute resolveRoute(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return defaultRoute;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (CompiledRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+
+    /**
+     * Identifies the client by the subject of a verified token, falling back to the remote address.
+     *
+     * @param request The incoming HTTP request.
+     * @return The client key.
+     */
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null) {
+            try {
+                DecodedJWT verifiedToken = tokenService.verify(authHeader.replace("Bearer ", ""));
+                request.setAttribute(SecurityFilter.VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
+                return "user:" + verifiedToken.getSubject();
+            } catch (InvalidTokenException ignored) {
+                // Invalid tokens are limited by address, and rejected by the security filter.
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * A configured route with its path pattern parsed once.
+     */
+    private record CompiledRoute(String name, PathPattern pattern, long capacity, double refillPerSecond) {
+    }
+}
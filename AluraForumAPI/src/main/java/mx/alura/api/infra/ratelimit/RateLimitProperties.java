@@ -0,0 +1,40 @@
+package mx.alura.api.infra.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limiting settings bound from {@code api.rate-limit}.
+ *
+ * @param enabled         Whether the rate-limiting filter is active.
+ * @param capacity        The burst size of requests not matched by any route.
+ * @param refillPerSecond The sustained request rate of requests not matched by any route.
+ * @param idleTimeout     How long an unused bucket is kept before it is evicted.
+ * @param routes          Per-route limits, checked in order; the first match wins.
+ */
+@ConfigurationProperties("api.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") long capacity,
+        @DefaultValue("20") double refillPerSecond,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue List<Route> routes
+) {
+
+    /**
+     * Limit applied to requests whose path matches a pattern.
+     *
+     * @param pattern         A path pattern such as {@code /forum/messages/**}.
+     * @param capacity        The burst size.
+     * @param refillPerSecond The sustained request rate.
+     */
+    public record Route(
+            String pattern,
+            long capacity,
+            double refillPerSecond
+    ) {
+    }
+}
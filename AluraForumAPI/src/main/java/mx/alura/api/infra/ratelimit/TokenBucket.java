@@ -0,0 +1,60 @@
+package mx.alura.api.infra.ratelimit;
+
+/**
+ * Token bucket for a single client and route.
+ * Each bucket guards itself, so threads only contend when they share the same client key.
+ */
+class TokenBucket {
+
+    private final double capacity;
+
+    private final double refillPerNano;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    private volatile long lastAccess;
+
+    /**
+     * Constructs a full bucket.
+     *
+     * @param capacity        The maximum number of tokens.
+     * @param refillPerSecond The number of tokens added per second.
+     * @param now             The current {@link System#nanoTime()} value.
+     */
+    TokenBucket(long capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = now;
+        this.lastAccess = now;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now The current {@link System#nanoTime()} value.
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token becomes available.
+     */
+    synchronized long tryConsume(long now) {
+        lastAccess = now;
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+
+    /**
+     * Returns the last time this bucket was used.
+     *
+     * @return A {@link System#nanoTime()} value.
+     */
+    long lastAccess() {
+        return lastAccess;
+    }
+}
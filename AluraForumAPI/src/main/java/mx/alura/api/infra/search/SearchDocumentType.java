@@ -0,0 +1,9 @@
+package mx.alura.api.infra.search;
+
+/**
+ * Kinds of content held in the {@link SearchIndex}.
+ */
+public enum SearchDocumentType {
+    POST,
+    MESSAGE
+}
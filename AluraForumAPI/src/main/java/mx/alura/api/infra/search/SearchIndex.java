@@ -0,0 +1,332 @@
+package mx.alura.api.infra.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.alura.api.record.search.SearchResultData;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over post titles, post bodies and messages, ranked by TF-IDF.
+ * Changes made inside a transaction are applied after it commits, so rolled back writes never show up.
+ * Searches share a read lock; updates take the write lock for the few postings they touch.
+ */
+@Component
+public class SearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final int MAX_QUERY_TERMS = 10;
+
+    private static final int PREVIEW_LENGTH = 120;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index current = new Index();
+
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    private volatile boolean stale;
+
+    /**
+     * Constructs a new SearchIndex instance.
+     *
+     * @param meterRegistry The registry where the number of indexed documents is published.
+     */
+    public SearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("forum.search.documents", this, SearchIndex::size)
+                .description("Posts and messages held in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds or replaces a document.
+     *
+     * @param type  The kind of document.
+     * @param id    The ID of the post or message.
+     * @param title The post title, or null for messages.
+     * @param body  The post or message text.
+     */
+    public void index(SearchDocumentType type, Long id, String title, String body) {
+        afterCommit(index -> index.add(type, id, title, body));
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param type The kind of document.
+     * @param id   The ID of the post or message.
+     */
+    public void remove(SearchDocumentType type, Long id) {
+        afterCommit(index -> index.remove(new DocumentKey(type, id)));
+    }
+
+    /**
+     * Flags the index as out of date, for changes that remove rows through database cascades.
+     */
+    public void markStale() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale = true;
+                }
+            });
+        } else {
+            stale = true;
+        }
+    }
+
+    /**
+     * Tells whether a rebuild is needed.
+     *
+     * @return true if rows were removed without updating the index.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Finds the documents best matching the query.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of results.
+     * @return The results, best first.
+     */
+    public List<SearchResultData> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return current.search(terms.subList(0, Math.min(terms.size(), MAX_QUERY_TERMS)), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the documents produced by the loader.
+     * The loader runs without holding the lock; changes committed meanwhile are replayed on the new index.
+     * Concurrent rebuilds run one after the other.
+     *
+     * @param loader Callback that adds every document to the given builder.
+     */
+    public synchronized void rebuild(Consumer<Builder> loader) {
+        lock.writeLock().lock();
+        try {
+            stale = false;
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try {
+            loader.accept(fresh::add);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+                stale = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            current = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the indexed documents.
+     *
+     * @return The number of posts and messages in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change now, or after the current transaction commits.
+     *
+     * @param change The change to apply.
+     */
+    private void afterCommit(Consumer<Index> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    /**
+     * Applies a change to the live index, remembering it if a rebuild is running.
+     *
+     * @param change The change to apply.
+     */
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(current);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Receives the documents of a rebuild.
+     */
+    @FunctionalInterface
+    public interface Builder {
+
+        /**
+         * Adds a document.
+         *
+         * @param type  The kind of document.
+         * @param id    The ID of the post or message.
+         * @param title The post title, or null for messages.
+         * @param body  The post or message text.
+         */
+        void add(SearchDocumentType type, Long id, String title, String body);
+    }
+
+    /**
+     * Identifies a document.
+     */
+    private record DocumentKey(SearchDocumentType type, Long id) {
+    }
+
+    /**
+     * What the index keeps about a document: its distinct terms, for removal,
+     * its weighted length, for normalization, and the preview returned to clients.
+     */
+    private record Document(Set<String> terms, int length, String preview) {
+    }
+
+    /**
+     * A scored hit while ranking.
+     */
+    private record Hit(DocumentKey key, Document document, double score) {
+    }
+
+    /**
+     * The postings and documents; not thread-safe, guarded by the enclosing lock.
+     */
+    private static final class Index {
+
+        private final Map<String, Map<DocumentKey, Integer>> postings = new HashMap<>();
+
+        private final Map<DocumentKey, Document> documents = new HashMap<>();
+
+        private void add(SearchDocumentType type, Long id, String title, String body) {
+            DocumentKey key = new DocumentKey(type, id);
+            remove(key);
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : Tokenizer.tokenize(title)) {
+                frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : Tokenizer.tokenize(body)) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+            if (frequencies.isEmpty()) {
+                return;
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(key, entry.getValue());
+                length += entry.getValue();
+            }
+            documents.put(key, new Document(Set.copyOf(frequencies.keySet()), length, preview(title != null ? title : body)));
+        }
+
+        private void remove(DocumentKey key) {
+            Document document = documents.remove(key);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<DocumentKey, Integer> docs = postings.get(term);
+                if (docs != null) {
+                    docs.remove(key);
+                    if (docs.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        private List<SearchResultData> search(List<String> terms, int limit) {
+            int total = documents.size();
+            Map<DocumentKey, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<DocumentKey, Integer> docs = postings.get(term);
+                if (docs == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (double) total / docs.size());
+                docs.forEach((key, frequency) -> scores.merge(key, frequency * idf, Double::sum));
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            for (Map.Entry<DocumentKey, Double> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                best.add(new Hit(entry.getKey(), document, entry.getValue() / Math.sqrt(document.length())));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            LinkedList<SearchResultData> results = new LinkedList<>();
+            while (!best.isEmpty()) {
+                Hit hit = best.poll();
+                results.addFirst(new SearchResultData(hit.key().type(), hit.key().id(), hit.score(), hit.document().preview()));
+            }
+            return results;
+        }
+
+        private static String preview(String text) {
+            if (text == null || text.length() <= PREVIEW_LENGTH) {
+                return text;
+            }
+            return text.substring(0, PREVIEW_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package mx.alura.api.infra.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into index terms: lower case, accents removed, letters and digits only,
+ * dropping one-character tokens and common English and Spanish stop words.
+ */
+public final class Tokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los", "para",
+            "por", "que", "se", "su", "un", "una", "y"
+    );
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Tokenizes a text.
+     *
+     * @param text The text, may be null.
+     * @return The terms in order of appearance, including repetitions.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = normalize(text);
+
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(normalized.substring(start, i), terms);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Folds a text for comparison: lower case with accents removed.
+     *
+     * @param text The text.
+     * @return The folded text.
+     */
+    public static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds a token to the terms unless it is too short or a stop word.
+     *
+     * @param token The token.
+     * @param terms The terms collected so far.
+     */
+    private static void addTerm(String token, List<String> terms) {
+        if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+            terms.add(token);
+        }
+    }
+}
@@ -1,26 +1,33 @@
 package mx.alura.api.infra.security;
 
+import mx.alura.api.model.User;
 import mx.alura.api.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
  * Service responsible for authenticating users by implementing the UserDetailsService interface.
+ * It also stores rehashed passwords when the configured BCrypt cost is raised.
  */
 @Service
-public class AuthenticationServices implements UserDetailsService {
+public class AuthenticationServices implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    private final PrincipalCache principalCache;
+
     /**
      * Constructs a new AuthenticationServices instance.
      *
      * @param userRepository The repository for managing user data.
+     * @param principalCache The cache of authenticated principals.
      */
-    public AuthenticationServices(UserRepository userRepository) {
+    public AuthenticationServices(UserRepository userRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -34,4 +41,20 @@ public class AuthenticationServices implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username);
     }
+
+    /**
+     * Stores a password hash produced with the current cost factor after a successful login.
+     *
+     * @param user        The authenticated user.
+     * @param newPassword The new password hash.
+     * @return The user with the updated hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = (User) user;
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+        principalCache.evict(entity.getUsername());
+        return entity;
+    }
 }
@@ -0,0 +1,121 @@
+package mx.alura.api.infra.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt password encoder that runs every hash and check on a dedicated, size-limited pool.
+ * When the pool and its queue are full, callers fail fast with {@link PasswordHashingOverloadedException}
+ * instead of tying up request threads.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration timeout;
+
+    /**
+     * Constructs a new BoundedPasswordEncoder.
+     *
+     * @param cost          The BCrypt cost factor (log rounds) used for new hashes.
+     * @param poolSize      The number of threads that hash passwords.
+     * @param queueCapacity The number of hashing tasks allowed to wait for a thread.
+     * @param timeout       How long a caller waits for its task before giving up; also sent as Retry-After.
+     */
+    public BoundedPasswordEncoder(int cost, int poolSize, int queueCapacity, Duration timeout) {
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.timeout = timeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Reports whether a stored hash was produced with a lower cost factor than the configured one,
+     * so that a successful login rehashes it. Runs on the caller thread, since it only parses the hash.
+     *
+     * @param encodedPassword The stored hash.
+     * @return true if the hash should be replaced.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @param task The hashing task.
+     * @param <T>  The type of the result.
+     * @return The result of the task.
+     * @throws PasswordHashingOverloadedException If the pool is saturated or the task does not finish in time.
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingOverloadedException(timeout);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingOverloadedException(timeout);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingOverloadedException(timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the hashing threads when the application context closes.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
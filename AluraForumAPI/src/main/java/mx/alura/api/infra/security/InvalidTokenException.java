@@ -0,0 +1,17 @@
+package mx.alura.api.infra.security;
+
+/**
+ * Thrown when a JWT token cannot be verified.
+ * It carries no stack trace, so rejecting forged or expired tokens stays cheap.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidTokenException.
+     *
+     * @param message The reason the token was rejected.
+     */
+    public InvalidTokenException(String message) {
+        super(message, null, false, false);
+    }
+}
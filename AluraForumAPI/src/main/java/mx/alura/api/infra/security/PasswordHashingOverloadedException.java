@@ -0,0 +1,31 @@
+package mx.alura.api.infra.security;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot accept more work.
+ * It carries no stack trace, so shedding load stays cheap during a login storm.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new PasswordHashingOverloadedException.
+     *
+     * @param retryAfter How long clients should wait before trying again.
+     */
+    public PasswordHashingOverloadedException(Duration retryAfter) {
+        super("Password hashing capacity exhausted", null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long clients should wait before trying again.
+     *
+     * @return The suggested retry delay.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,157 @@
+package mx.alura.api.infra.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of verified principals keyed by the JWT subject.
+ * It saves the users table lookup that {@link SecurityFilter} would otherwise run on every request.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a new PrincipalCache instance.
+     *
+     * @param maxSize       The maximum number of principals kept in memory.
+     * @param ttl           How long a principal is served from the cache before it is reloaded.
+     * @param meterRegistry The registry where the hit, miss and eviction counters are published.
+     */
+    public PrincipalCache(
+            @Value("${api.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${api.security.principal-cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+
+        FunctionCounter.builder("forum.principal.cache.hits", hits, AtomicLong::get)
+                .description("Principals served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.principal.cache.misses", misses, AtomicLong::get)
+                .description("Principals loaded from the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("forum.principal.cache.evictions", evictions, AtomicLong::get)
+                .description("Principals removed because of expiration, size limit or user changes")
+                .register(meterRegistry);
+        Gauge.builder("forum.principal.cache.size", entries, Map::size)
+                .description("Principals currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached principal for the subject, loading it when missing or expired.
+     *
+     * @param subject The token subject (username).
+     * @param loader  The function used to load the principal on a miss.
+     * @return The principal, or null if the loader could not find it.
+     */
+    public UserDetails get(String subject, Function<String, UserDetails> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(subject);
+
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            hits.incrementAndGet();
+            return entry.principal();
+        }
+
+        misses.incrementAndGet();
+        UserDetails principal = loader.apply(subject);
+
+        if (principal != null) {
+            if (entry == null && entries.size() >= maxSize) {
+                evictExpiredOrAny(now);
+            }
+            entries.put(subject, new Entry(principal, now));
+        }
+        return principal;
+    }
+
+    /**
+     * Removes the principal cached for the given subject.
+     * Inside a transaction the entry is removed again after commit, so a concurrent
+     * request cannot cache the row as it was before the change.
+     *
+     * @param subject The token subject (username) whose principal changed.
+     */
+    public void evict(String subject) {
+        if (subject == null) {
+            return;
+        }
+        remove(subject);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(subject);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes every cached principal, for changes made by another instance where only the user ID is known.
+     */
+    public void clear() {
+        int before = entries.size();
+        entries.clear();
+        evictions.addAndGet(before);
+    }
+
+    /**
+     * Removes the entry for the subject and counts it as an eviction.
+     *
+     * @param subject The token subject (username).
+     */
+    private void remove(String subject) {
+        if (entries.remove(subject) != null) {
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops expired entries; if none expired, drops one arbitrary entry so the cache stays bounded.
+     *
+     * @param now The current {@link System#nanoTime()} value.
+     */
+    private void evictExpiredOrAny(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> now - entry.loadedAt() >= ttlNanos);
+
+        if (entries.size() >= maxSize) {
+            entries.keySet().stream().findAny().ifPresent(entries::remove);
+        }
+        evictions.addAndGet(Math.max(0, before - entries.size()));
+    }
+
+    /**
+     * A cached principal together with the moment it was loaded.
+     */
+    private record Entry(UserDetails principal, long loadedAt) {
+    }
+}
@@ -1,5 +1,8 @@
 package mx.alura.api.infra.security;
 
+import jakarta.servlet.DispatcherType;
+import mx.alura.api.infra.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,11 +12,12 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 /**
  * Configuration class for setting up security configurations in the Spring Boot application.
  */
@@ -23,13 +27,17 @@ public class SecurityConfigurations {
 
     private final SecurityFilter securityFilter;
 
+    private final RateLimitFilter rateLimitFilter;
+
     /**
      * Constructs a new SecurityConfigurations instance.
      *
-     * @param securityFilter The security filter used for authentication.
+     * @param securityFilter  The security filter used for authentication.
+     * @param rateLimitFilter The filter that limits request rates before authentication.
      */
-    public SecurityConfigurations(SecurityFilter securityFilter) {
+    public SecurityConfigurations(SecurityFilter securityFilter, RateLimitFilter rateLimitFilter) {
         this.securityFilter = securityFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -45,6 +53,9 @@ public class SecurityConfigurations {
                 .csrf(
                         AbstractHttpConfigurer::disable
                 )
+                .logout(
+                        AbstractHttpConfigurer::disable
+                )
                 .sessionManagement(
                         sessionManagement ->
                                 sessionManagement
@@ -52,6 +63,8 @@ public class SecurityConfigurations {
                 .authorizeHttpRequests(
                         (authorize) ->
                                 authorize
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                        .permitAll()
                                         .requestMatchers(HttpMethod.POST, "login")
                                         .permitAll()
                                         .requestMatchers("/v3/api-docs/**", "/doc/swagger-ui/**")
@@ -76,6 +89,7 @@ public class SecurityConfigurations {
                                 )
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, SecurityFilter.class)
                 .build();
     }
 
@@ -93,12 +107,22 @@ public class SecurityConfigurations {
 
     /**
      * Creates a PasswordEncoder bean for password hashing.
+     * Hashing runs on a bounded pool so a login storm cannot occupy every request thread.
      *
+     * @param cost          The BCrypt cost factor.
+     * @param poolSize      The number of threads that hash passwords.
+     * @param queueCapacity The number of hashing tasks allowed to wait for a thread.
+     * @param timeout       How long a request waits for its hashing task.
      * @return A PasswordEncoder instance.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.password.cost:10}") int cost,
+            @Value("${api.security.password.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int poolSize,
+            @Value("${api.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${api.security.password.timeout:2s}") Duration timeout
+    ) {
+        return new BoundedPasswordEncoder(cost, poolSize, queueCapacity, timeout);
     }
 
 }
@@ -4,9 +4,12 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import mx.alura.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -18,19 +21,42 @@ import java.io.IOException;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the token already verified by an earlier filter of the same request.
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = SecurityFilter.class.getName() + ".VERIFIED_TOKEN";
+
     private final TokenService tokenService;
 
     private final UserRepository userRepository;
 
+    private final PrincipalCache principalCache;
+
+    private final TokenRevocationService tokenRevocationService;
+
+    private final boolean statelessPrincipal;
+
     /**
      * Constructs a new SecurityFilter instance.
      *
-     * @param tokenService   The service for working with JWT tokens.
-     * @param userRepository The repository for managing user data.
+     * @param tokenService           The service for working with JWT tokens.
+     * @param userRepository         The repository for managing user data.
+     * @param principalCache         The cache of principals already loaded from the database.
+     * @param tokenRevocationService The service that tracks revoked tokens.
+     * @param statelessPrincipal     Whether the principal is built from the token claims instead of the users table.
      */
-    public SecurityFilter(TokenService tokenService, UserRepository userRepository) {
+    public SecurityFilter(
+            TokenService tokenService,
+            UserRepository userRepository,
+            PrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService,
+            @Value("${api.security.stateless-principal:false}") boolean statelessPrincipal
+    ) {
         this.tokenService = tokenService;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     /**
@@ -52,10 +78,25 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         if (authHeader != null) {
             var token = authHeader.replace("Bearer ", "");
-            var subject = tokenService.getSubject(token);
+            DecodedJWT verifiedToken = (DecodedJWT) request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE);
+            if (verifiedToken == null) {
+                try {
+                    verifiedToken = tokenService.verify(token);
+                } catch (InvalidTokenException e) {
+                    rejectInvalidToken(response);
+                    return;
+                }
+            }
+            if (tokenRevocationService.isRevoked(verifiedToken)) {
+                rejectInvalidToken(response);
+                return;
+            }
+
+            UserDetails user = statelessPrincipal
+                    ? tokenService.toPrincipal(verifiedToken)
+                    : principalCache.get(verifiedToken.getSubject(), userRepository::findByUsername);
 
-            if (subject != null) {
-                var user = userRepository.findByUsername(subject);
+            if (user != null) {
                 var authentication = new UsernamePasswordAuthenticationToken(
                         user, null, user.getAuthorities()
                 );
@@ -70,4 +111,16 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     }
 
+    /**
+     * Answers with 401 Unauthorized without reaching the controllers.
+     *
+     * @param response The HTTP response.
+     * @throws IOException If the response body cannot be written.
+     */
+    private void rejectInvalidToken(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"Invalid or expired token.\"}");
+    }
+
 }
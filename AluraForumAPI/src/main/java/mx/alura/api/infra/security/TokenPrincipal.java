@@ -0,0 +1,56 @@
+package mx.alura.api.infra.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Lightweight principal built only from the signed claims of a JWT token.
+ * It carries no password and needs no database lookup.
+ *
+ * @param id          The user ID from the {@code id} claim.
+ * @param username    The username from the token subject.
+ * @param authorities The authorities from the {@code roles} claim.
+ */
+public record TokenPrincipal(
+        Long id,
+        String username,
+        Collection<? extends GrantedAuthority> authorities
+) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package mx.alura.api.infra.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import mx.alura.api.infra.datasource.ReadConsistency;
+import mx.alura.api.infra.invalidation.ChangedEntity;
+import mx.alura.api.infra.invalidation.InvalidationBus;
+import mx.alura.api.infra.invalidation.InvalidationEvent;
+import mx.alura.api.infra.invalidation.InvalidationListener;
+import mx.alura.api.model.RevokedToken;
+import mx.alura.api.repository.RevokedTokenRepository;
+import mx.alura.api.utils.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Service that revokes JWT tokens before they expire.
+ * A Bloom filter holding every revoked token ID is checked first, so only possible matches
+ * reach the database for an exact lookup.
+ * Revocations are always read from the primary: a lagging replica would let a revoked token through,
+ * or leave it out of a rebuilt filter until the next rebuild.
+ * Each revocation is broadcast on the {@link InvalidationBus}, and the revocations of other instances
+ * are added to the local filter, so a token logged out on one instance is rejected by all of them.
+ */
+@Service
+public class TokenRevocationService implements InvalidationListener {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final InvalidationBus invalidationBus;
+
+    private final long expectedRevocations;
+
+    private final double falsePositiveRate;
+
+    private final Object filterLock = new Object();
+
+    private volatile BloomFilter revokedIds;
+
+    private BloomFilter rebuilding;
+
+    /**
+     * Constructs a new TokenRevocationService instance.
+     *
+     * @param revokedTokenRepository The repository for managing revoked tokens.
+     * @param invalidationBus        The bus telling the other instances about each revocation.
+     * @param expectedRevocations    The number of live revocations the Bloom filter is sized for.
+     * @param falsePositiveRate      The acceptable rate of lookups that reach the database needlessly.
+     */
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            InvalidationBus invalidationBus,
+            @Value("${api.security.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${api.security.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.invalidationBus = invalidationBus;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedIds = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Revokes a verified token until its expiration.
+     *
+     * @param verifiedToken The token to revoke.
+     */
+    public void revoke(DecodedJWT verifiedToken) {
+        String jti = verifiedToken.getId();
+        if (jti == null || verifiedToken.getExpiresAtAsInstant() == null) {
+            throw new InvalidTokenException("Token cannot be revoked");
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, Timestamp.from(verifiedToken.getExpiresAtAsInstant())));
+        addToFilter(jti);
+        invalidationBus.publishKey(ChangedEntity.REVOKED_TOKEN, jti);
+    }
+
+    /**
+     * Adds a token revoked by another instance to the Bloom filter. The revocation row is already
+     * committed, so the exact lookup that follows a filter match finds it.
+     *
+     * @param event The change.
+     */
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.entity() == ChangedEntity.REVOKED_TOKEN && event.key() != null) {
+            addToFilter(event.key());
+        }
+    }
+
+    /**
+     * Checks whether a verified token has been revoked.
+     *
+     * @param verifiedToken The token to check.
+     * @return true if the token was revoked.
+     */
+    public boolean isRevoked(DecodedJWT verifiedToken) {
+        String jti = verifiedToken.getId();
+        if (jti == null || !revokedIds.mightContain(jti)) {
+            return false;
+        }
+        return ReadConsistency.onPrimary(() -> revokedTokenRepository.existsById(jti));
+    }
+
+    /**
+     * Deletes expired revocations and rebuilds the Bloom filter from the remaining ones,
+     * so entries disappear once their token would have expired.
+     * Tokens revoked while the rebuild runs are added to both filters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${api.security.revocation.cleanup-cron:0 0 * * * *}")
+    public void rebuild() {
+        Timestamp now = Timestamp.from(Instant.now());
+        revokedTokenRepository.deleteExpired(now);
+
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        synchronized (filterLock) {
+            rebuilding = rebuilt;
+        }
+        ReadConsistency.onPrimary(() -> revokedTokenRepository.findActiveJtis(now)).forEach(rebuilt::add);
+        synchronized (filterLock) {
+            revokedIds = rebuilt;
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * Adds a token ID to the live filter, and to the one being rebuilt if any.
+     *
+     * @param jti The ID of the revoked token.
+     */
+    private void addToFilter(String jti) {
+        synchronized (filterLock) {
+            revokedIds.add(jti);
+            if (rebuilding != null) {
+                rebuilding.add(jti);
+            }
+        }
+    }
+}
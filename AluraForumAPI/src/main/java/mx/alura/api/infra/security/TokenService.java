@@ -1,26 +1,75 @@
 package mx.alura.api.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import mx.alura.api.model.User;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for generating and verifying JWT (JSON Web Token) tokens.
+ * Algorithms and verifiers are built once at startup; they are thread-safe and shared by every request.
  */
 @Service
 public class TokenService {
 
-    @Value("${api.security.secret}")
-    private String apiSecret;
+    private static final String ISSUER = "alura api";
+
+    private static final String ROLES_CLAIM = "roles";
+
+    private static final List<String> DEFAULT_ROLES = List.of("ROLE_USER");
+
+    private final String activeKeyId;
+
+    private final Algorithm signingAlgorithm;
+
+    private final JWTVerifier activeVerifier;
+
+    private final Map<String, JWTVerifier> verifiers;
+
+    /**
+     * Constructs a new TokenService instance.
+     *
+     * @param apiSecret   The secret used to sign new tokens.
+     * @param activeKeyId The key id written to the {@code kid} header of new tokens.
+     * @param retiredKeys Secrets still accepted for verification, as {@code kid=secret} pairs separated by commas.
+     */
+    public TokenService(
+            @Value("${api.security.secret}") String apiSecret,
+            @Value("${api.security.key-id:primary}") String activeKeyId,
+            @Value("${api.security.retired-keys:}") String retiredKeys
+    ) {
+        this.activeKeyId = activeKeyId;
+        this.signingAlgorithm = Algorithm.HMAC256(apiSecret);
+        this.activeVerifier = buildVerifier(signingAlgorithm);
+
+        Map<String, JWTVerifier> verifierByKeyId = new HashMap<>();
+        for (String pair : retiredKeys.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                verifierByKeyId.put(
+                        pair.substring(0, separator).trim(),
+                        buildVerifier(Algorithm.HMAC256(pair.substring(separator + 1).trim()))
+                );
+            }
+        }
+        verifierByKeyId.put(activeKeyId, activeVerifier);
+        this.verifiers = Map.copyOf(verifierByKeyId);
+    }
 
     /**
      * Generates a JWT token for a given user.
@@ -30,13 +79,17 @@ public class TokenService {
      */
     public String tokenGenerator(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
             return JWT.create()
-                    .withIssuer("alura api")
+                    .withKeyId(activeKeyId)
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withIssuer(ISSUER)
                     .withSubject(user.getUsername())
                     .withClaim("id", user.getId())
+                    .withClaim(ROLES_CLAIM, user.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList())
                     .withExpiresAt(generateExpirationDate())
-                    .sign(algorithm);
+                    .sign(signingAlgorithm);
         } catch (JWTCreationException e) {
             throw new RuntimeException(e.getMessage());
         }
@@ -47,26 +100,70 @@ public class TokenService {
      *
      * @param token The JWT token to verify and extract the subject from.
      * @return The subject (username) extracted from the token.
+     * @throws InvalidTokenException If the token is missing, malformed, expired or wrongly signed.
      */
     public String getSubject(String token) {
+        return verify(token).getSubject();
+    }
+
+    /**
+     * Builds a principal from the signed claims of a verified token, without touching the database.
+     *
+     * @param verifiedToken A token returned by {@link #verify(String)}.
+     * @return The principal described by the token claims.
+     */
+    public TokenPrincipal toPrincipal(DecodedJWT verifiedToken) {
+        List<String> roles = verifiedToken.getClaim(ROLES_CLAIM).asList(String.class);
+        return new TokenPrincipal(
+                verifiedToken.getClaim("id").asLong(),
+                verifiedToken.getSubject(),
+                (roles != null ? roles : DEFAULT_ROLES).stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList()
+        );
+    }
+
+    /**
+     * Verifies a JWT token with the key selected by its {@code kid} header.
+     *
+     * @param token The JWT token to verify.
+     * @return The verified token, which always has a subject.
+     * @throws InvalidTokenException If the token is missing, malformed, expired or wrongly signed.
+     */
+    public DecodedJWT verify(String token) {
+        if (token == null) {
+            throw new InvalidTokenException("Invalid Token");
+        }
         try {
-            if (token == null) {
-                throw new RuntimeException("Invalid Token");
+            DecodedJWT decoded = JWT.decode(token);
+            JWTVerifier verifier = decoded.getKeyId() == null
+                    ? activeVerifier
+                    : verifiers.get(decoded.getKeyId());
+            if (verifier == null) {
+                throw new InvalidTokenException("Unknown signing key");
             }
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
-            DecodedJWT verifier = JWT.require(algorithm)
-                    .withIssuer("alura api")
-                    .build()
-                    .verify(token);
-            if (verifier.getSubject() == null) {
-                throw new RuntimeException("Invalid verifier");
+            DecodedJWT verified = verifier.verify(decoded);
+            if (verified.getSubject() == null) {
+                throw new InvalidTokenException("Invalid verifier");
             }
-            return verifier.getSubject();
+            return verified;
         } catch (JWTVerificationException e) {
-            throw new RuntimeException(e.getMessage());
+            throw new InvalidTokenException(e.getMessage());
         }
     }
 
+    /**
+     * Builds a verifier that checks the signature and issuer of a token.
+     *
+     * @param algorithm The algorithm holding the signing key.
+     * @return A reusable, thread-safe verifier.
+     */
+    private static JWTVerifier buildVerifier(Algorithm algorithm) {
+        return JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
     /**
      * Generates the expiration date for a JWT token (2 hours from the current time).
      *
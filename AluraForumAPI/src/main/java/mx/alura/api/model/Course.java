@@ -9,12 +9,17 @@ import lombok.NoArgsConstructor;
 import mx.alura.api.record.course.RegisterCourseData;
 import mx.alura.api.record.course.UpdateCourseByIdData;
 import mx.alura.api.record.course.UpdateCourseData;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a Course entity in the application.
+ * Courses change rarely and are read on every post write, so they live in the second-level cache.
  */
 @Table(name = "courses")
 @Entity(name = "Course")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
@@ -32,14 +37,9 @@ public class Course {
     @Schema(description = "Category of the course")
     private String category;
 
-    /**
-     * Constructs a new Course object with the specified ID.
-     *
-     * @param id The course ID.
-     */
-    public Course(Long id) {
-        this.id = id;
-    }
+    @Schema(description = "Version of the course, incremented on every update")
+    @Version
+    private Long version;
 
     /**
      * Constructs a new Course instance using data from a RegisterCourseData object.
@@ -26,7 +26,15 @@ public class Message {
 
     @Schema(description = "Message ID")
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "message_ids")
+    @TableGenerator(
+            name = "message_ids",
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "messages",
+            allocationSize = 50
+    )
     private Long id;
 
     @Schema(description = "The content of the message.")
@@ -50,35 +58,43 @@ public class Message {
     @JoinColumn(name = "post_id")
     private Post postId;
 
+    @Schema(description = "Version of the message, incremented on every update.")
+    @Version
+    private Long version;
+
     /**
      * Creates a new message with the provided data.
      *
      * @param registerMessageData The data to register the message.
+     * @param user                The user who posted the message.
+     * @param post                The post the message answers.
      */
-    public Message(RegisterMessageData registerMessageData) {
+    public Message(RegisterMessageData registerMessageData, User user, Post post) {
         this.message = registerMessageData.message();
         this.creationDate = TimestampUtility.getTimeNowRounded();
-        this.userId = new User(registerMessageData.user());
-        this.postId = new Post(registerMessageData.post());
+        this.userId = user;
+        this.postId = post;
     }
 
     /**
      * Updates the message data with the provided data.
      *
      * @param updateMessageData The data to update the message.
+     * @param user              The new user of the message, or null to keep the current one.
+     * @param post              The new post of the message, or null to keep the current one.
      */
-    public void updateData(UpdateMessageData updateMessageData) {
+    public void updateData(UpdateMessageData updateMessageData, User user, Post post) {
         if (updateMessageData.message() != null) {
             this.message = updateMessageData.message();
         }
         if (updateMessageData.status() != null) {
             this.status = updateMessageData.status();
         }
-        if (updateMessageData.user() != null) {
-            this.userId = new User(updateMessageData.user());
+        if (user != null) {
+            this.userId = user;
         }
-        if (updateMessageData.post() != null) {
-            this.postId = new Post(updateMessageData.post());
+        if (post != null) {
+            this.postId = post;
         }
     }
 
@@ -86,19 +102,21 @@ public class Message {
      * Updates the message data with the provided data.
      *
      * @param updateMessageDataById The data to update the message.
+     * @param user                  The new user of the message, or null to keep the current one.
+     * @param post                  The new post of the message, or null to keep the current one.
      */
-    public void updateData(UpdateMessageDataById updateMessageDataById) {
+    public void updateData(UpdateMessageDataById updateMessageDataById, User user, Post post) {
         if (updateMessageDataById.message() != null) {
             this.message = updateMessageDataById.message();
         }
         if (updateMessageDataById.status() != null) {
             this.status = updateMessageDataById.status();
         }
-        if (updateMessageDataById.user() != null) {
-            this.userId = new User(updateMessageDataById.user());
+        if (user != null) {
+            this.userId = user;
         }
-        if (updateMessageDataById.post() != null) {
-            this.postId = new Post(updateMessageDataById.post());
+        if (post != null) {
+            this.postId = post;
         }
     }
 }
@@ -10,6 +10,7 @@ import mx.alura.api.record.post.RegisterPostData;
 import mx.alura.api.record.post.UpdatePostByIdData;
 import mx.alura.api.record.post.UpdatePostData;
 import mx.alura.api.utils.TimestampUtility;
+import org.hibernate.annotations.BatchSize;
 
 import java.sql.Timestamp;
 import java.util.HashSet;
@@ -28,7 +29,15 @@ public class Post {
 
     @Schema(description = "Post ID")
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_ids")
+    @TableGenerator(
+            name = "post_ids",
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "posts",
+            allocationSize = 50
+    )
     private Long id;
 
     @Schema(description = "Title of the post.")
@@ -57,37 +66,37 @@ public class Post {
 
     @Schema(description = "The set of messages associated with this post.")
     @OneToMany(mappedBy = "postId", cascade = CascadeType.ALL)
+    @BatchSize(size = 25)
     private Set<Message> messageSet = new HashSet<>();
 
-    /**
-     * Constructs a new Post object with the specified ID.
-     *
-     * @param id The post-ID.
-     */
-    public Post(Long id) {
-        this.id = id;
-    }
+    @Schema(description = "Version of the post, incremented on every update.")
+    @Version
+    private Long version;
 
     /**
      * Creates a new post with the provided data.
      *
      * @param registerPostData The data to register the post.
+     * @param user             The user who posted the post.
+     * @param course           The course the post belongs to.
      */
-    public Post(RegisterPostData registerPostData) {
+    public Post(RegisterPostData registerPostData, User user, Course course) {
         this.title = registerPostData.title();
         this.message = registerPostData.message();
         this.creationDate = TimestampUtility.getTimeNowRounded();
         this.status = registerPostData.status();
-        this.user = new User(registerPostData.userId());
-        this.course = new Course(registerPostData.courseId());
+        this.user = user;
+        this.course = course;
     }
 
     /**
      * Updates the post-data with the provided data.
      *
      * @param updatePostData The data to update the post.
+     * @param user           The new user of the post, or null to keep the current one.
+     * @param course         The new course of the post, or null to keep the current one.
      */
-    public void updateData(UpdatePostData updatePostData) {
+    public void updateData(UpdatePostData updatePostData, User user, Course course) {
         if (updatePostData.title() != null) {
             this.title = updatePostData.title();
         }
@@ -97,11 +106,11 @@ public class Post {
         if (updatePostData.status() != null) {
             this.status = updatePostData.status();
         }
-        if (updatePostData.userId() != null) {
-            this.user = new User(updatePostData.userId());
+        if (user != null) {
+            this.user = user;
         }
-        if (updatePostData.courseId() != null) {
-            this.course = new Course(updatePostData.courseId());
+        if (course != null) {
+            this.course = course;
         }
     }
 
@@ -109,8 +118,10 @@ public class Post {
      * Updates the post-data with the provided data.
      *
      * @param updatePostByIdData The data to update the post.
+     * @param user               The new user of the post, or null to keep the current one.
+     * @param course             The new course of the post, or null to keep the current one.
      */
-    public void updateData(UpdatePostByIdData updatePostByIdData) {
+    public void updateData(UpdatePostByIdData updatePostByIdData, User user, Course course) {
         if (updatePostByIdData.title() != null) {
             this.title = updatePostByIdData.title();
         }
@@ -120,11 +131,11 @@ public class Post {
         if (updatePostByIdData.status() != null) {
             this.status = updatePostByIdData.status();
         }
-        if (updatePostByIdData.userId() != null) {
-            this.user = new User(updatePostByIdData.userId());
+        if (user != null) {
+            this.user = user;
         }
-        if (updatePostByIdData.courseId() != null) {
-            this.course = new Course(updatePostByIdData.courseId());
+        if (course != null) {
+            this.course = course;
         }
     }
 }
@@ -0,0 +1,30 @@
+package mx.alura.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents a JWT token that was revoked before its expiration.
+ */
+@Table(name = "revoked_tokens")
+@Entity(name = "RevokedToken")
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "jti")
+public class RevokedToken {
+
+    @Schema(description = "Token ID (jti claim)")
+    @Id
+    private String jti;
+
+    @Schema(description = "The moment the token would have expired.")
+    @Column(name = "expires_at")
+    private Timestamp expiresAt;
+}
@@ -9,6 +9,8 @@ import lombok.NoArgsConstructor;
 import mx.alura.api.record.user.RegisterUserData;
 import mx.alura.api.record.user.UpdateUserByIdData;
 import mx.alura.api.record.user.UpdateUserData;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,9 +20,12 @@ import java.util.List;
 
 /**
  * Represents a User entity in the application.
+ * Kept in the second-level cache, since users are loaded on every login and rarely updated.
  */
 @Table(name = "users")
 @Entity(name = "User")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -42,14 +47,9 @@ public class User implements UserDetails {
     @Schema(description = "Password of the user")
     private String password;
 
-    /**
-     * Constructs a User object with the given ID.
-     *
-     * @param id The user ID.
-     */
-    public User(Long id) {
-        this.id = id;
-    }
+    @Schema(description = "Version of the user, incremented on every update")
+    @Version
+    private Long version;
 
     /**
      * Constructs a User object from user registration data.
@@ -0,0 +1,13 @@
+package mx.alura.api.record.autocomplete;
+
+/**
+ * A record representing one autocomplete suggestion.
+ *
+ * @param id    The ID of the course, post or user.
+ * @param value The course name, post title or username.
+ */
+public record SuggestionData(
+        Long id,
+        String value
+) {
+}
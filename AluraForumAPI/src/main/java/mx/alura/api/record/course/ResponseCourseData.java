@@ -1,5 +1,7 @@
 package mx.alura.api.record.course;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import mx.alura.api.infra.etag.Versioned;
 import mx.alura.api.model.Course;
 
 /**
@@ -8,8 +10,9 @@ import mx.alura.api.model.Course;
 public record ResponseCourseData(
         Long id,
         String name,
-        String category
-) {
+        String category,
+        @JsonIgnore Long version
+) implements Versioned {
 
     /**
      * Constructs a new instance of ResponseCourseData based on a Course entity.
@@ -20,7 +23,8 @@ public record ResponseCourseData(
         this(
                 course.getId(),
                 course.getName(),
-                course.getCategory()
+                course.getCategory(),
+                course.getVersion()
         );
     }
 }
@@ -0,0 +1,13 @@
+package mx.alura.api.record.imports;
+
+/**
+ * A record representing a line of an import that could not be stored.
+ *
+ * @param line  The 1-based line number in the uploaded file.
+ * @param error The reason the line was rejected.
+ */
+public record ImportErrorData(
+        long line,
+        String error
+) {
+}
@@ -0,0 +1,21 @@
+package mx.alura.api.record.imports;
+
+import java.util.List;
+
+/**
+ * A record representing the outcome of a bulk import.
+ *
+ * @param lines           The number of non-blank lines read.
+ * @param imported        The number of lines stored.
+ * @param failed          The number of lines rejected.
+ * @param errors          The rejected lines, up to the configured limit.
+ * @param errorsTruncated Whether more lines were rejected than {@code errors} lists.
+ */
+public record ImportReportData(
+        long lines,
+        long imported,
+        long failed,
+        List<ImportErrorData> errors,
+        boolean errorsTruncated
+) {
+}
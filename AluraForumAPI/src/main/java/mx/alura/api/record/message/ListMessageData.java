@@ -1,5 +1,7 @@
 package mx.alura.api.record.message;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import mx.alura.api.infra.etag.Versioned;
 import mx.alura.api.model.Message;
 
 import java.sql.Timestamp;
@@ -11,8 +13,9 @@ public record ListMessageData(
         Long id,
         String message,
         Timestamp creationDate,
-        Boolean status
-) {
+        Boolean status,
+        @JsonIgnore Long version
+) implements Versioned {
 
     /**
      * Constructs a {@code ListMessageData} object from a {@code Message} entity.
@@ -24,7 +27,8 @@ public record ListMessageData(
                 message.getId(),
                 message.getMessage(),
                 message.getCreationDate(),
-                message.getStatus()
+                message.getStatus(),
+                message.getVersion()
         );
     }
 }
@@ -1,5 +1,7 @@
 package mx.alura.api.record.message;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import mx.alura.api.infra.etag.Versioned;
 import mx.alura.api.model.Message;
 
 import java.sql.Timestamp;
@@ -13,8 +15,9 @@ public record ResponseMessageData(
         Timestamp creationDate,
         Boolean status,
         Long user,
-        Long post
-) {
+        Long post,
+        @JsonIgnore Long version
+) implements Versioned {
 
     /**
      * Creates a new instance of {@code ResponseMessageData} based on a {@link Message} entity.
@@ -28,7 +31,8 @@ public record ResponseMessageData(
                 message.getCreationDate(),
                 message.getStatus(),
                 message.getUserId().getId(),
-                message.getPostId().getId()
+                message.getPostId().getId(),
+                message.getVersion()
         );
     }
 }
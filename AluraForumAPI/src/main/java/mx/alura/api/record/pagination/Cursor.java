@@ -0,0 +1,54 @@
+package mx.alura.api.record.pagination;
+
+import mx.alura.api.infra.errors.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * A record representing a position in a listing ordered by creation date and ID, newest first.
+ */
+public record Cursor(
+        Timestamp creationDate,
+        Long id
+) {
+
+    /**
+     * Position before the newest row, used when no cursor is sent.
+     */
+    public static final Cursor FIRST = new Cursor(Timestamp.valueOf("9999-12-31 23:59:59"), Long.MAX_VALUE);
+
+    /**
+     * Encodes the cursor as an opaque, URL-safe continuation token.
+     *
+     * @return The continuation token.
+     */
+    public String encode() {
+        String raw = creationDate.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token produced by {@link #encode()}.
+     *
+     * @param token The continuation token, or null/blank for the first page.
+     * @return The decoded cursor, or {@link #FIRST} when no token is given.
+     * @throws InvalidCursorException If the token is malformed.
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(
+                    new Timestamp(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
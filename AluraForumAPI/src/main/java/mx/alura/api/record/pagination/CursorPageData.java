@@ -0,0 +1,49 @@
+package mx.alura.api.record.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A record representing one page of a cursor-paginated listing.
+ *
+ * @param content    The rows of the page.
+ * @param nextCursor The token for the next page, or null when this is the last page.
+ * @param <T>        The type of the rows.
+ */
+public record CursorPageData<T>(
+        List<T> content,
+        String nextCursor
+) {
+
+    /**
+     * Largest page size a client may request.
+     */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Limits a requested page size to the range 1..{@link #MAX_SIZE}.
+     *
+     * @param size The requested page size.
+     * @return The page size to use.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with one extra row beyond the page size.
+     *
+     * @param rows     The fetched rows, at most {@code size + 1}.
+     * @param size     The requested page size.
+     * @param cursorOf Function returning the cursor position of a row.
+     * @param <T>      The type of the rows.
+     * @return The page, with a next cursor only if the extra row was found.
+     */
+    public static <T> CursorPageData<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPageData<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageData<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+}
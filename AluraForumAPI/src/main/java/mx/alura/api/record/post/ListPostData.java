@@ -1,5 +1,7 @@
 package mx.alura.api.record.post;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import mx.alura.api.infra.etag.Versioned;
 import mx.alura.api.model.Post;
 
 import java.sql.Timestamp;
@@ -11,8 +13,9 @@ public record ListPostData(
         Long id,
         String title,
         String message,
-        Timestamp creationDate
-) {
+        Timestamp creationDate,
+        @JsonIgnore Long version
+) implements Versioned {
 
     /**
      * Constructs a {@code ListPostData} object from a {@link Post} entity.
@@ -24,7 +27,8 @@ public record ListPostData(
                 post.getId(),
                 post.getTitle(),
                 post.getMessage(),
-                post.getCreationDate()
+                post.getCreationDate(),
+                post.getVersion()
         );
     }
 }
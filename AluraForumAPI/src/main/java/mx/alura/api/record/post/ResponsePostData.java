@@ -1,5 +1,7 @@
 package mx.alura.api.record.post;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import mx.alura.api.infra.etag.Versioned;
 import mx.alura.api.model.Post;
 import mx.alura.api.model.Status;
 
@@ -15,8 +17,9 @@ public record ResponsePostData(
         Timestamp creationDate,
         Status status,
         Long userId,
-        Long courseId
-) {
+        Long courseId,
+        @JsonIgnore Long version
+) implements Versioned {
 
     /**
      * Constructs a ResponsePostData object based on a Post entity.
@@ -31,7 +34,8 @@ public record ResponsePostData(
                 post.getCreationDate(),
                 post.getStatus(),
                 post.getUser().getId(),
-                post.getCourse().getId()
+                post.getCourse().getId(),
+                post.getVersion()
         );
     }
 }
@@ -0,0 +1,19 @@
+package mx.alura.api.record.search;
+
+import mx.alura.api.infra.search.SearchDocumentType;
+
+/**
+ * A record representing one search hit.
+ *
+ * @param type    Whether the hit is a post or a message.
+ * @param id      The ID of the post or message.
+ * @param score   The relevance score; higher is better.
+ * @param preview The post title, or the beginning of the message.
+ */
+public record SearchResultData(
+        SearchDocumentType type,
+        Long id,
+        double score,
+        String preview
+) {
+}
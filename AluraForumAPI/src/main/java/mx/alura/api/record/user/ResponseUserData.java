@@ -1,5 +1,7 @@
 package mx.alura.api.record.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import mx.alura.api.infra.etag.Versioned;
 import mx.alura.api.model.User;
 
 /**
@@ -8,8 +10,9 @@ import mx.alura.api.model.User;
 public record ResponseUserData(
         Long id,
         String username,
-        String email
-) {
+        String email,
+        @JsonIgnore Long version
+) implements Versioned {
 
     /**
      * Constructs a ResponseUserData object based on a User entity.
@@ -20,7 +23,8 @@ public record ResponseUserData(
         this(
                 user.getId(),
                 user.getUsername(),
-                user.getEmail()
+                user.getEmail(),
+                user.getVersion()
         );
     }
 }
@@ -1,12 +1,48 @@
 package mx.alura.api.repository;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.persistence.QueryHint;
 import mx.alura.api.model.Course;
+import mx.alura.api.record.autocomplete.SuggestionData;
+import mx.alura.api.record.course.ResponseCourseData;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This repository interface provides CRUD (Create, Read, Update, Delete) operations for the Course entity.
  */
 @Tag(name = "Courses", description = "Operations related to courses")
 public interface CourseRepository extends JpaRepository<Course, Long> {
+
+    /**
+     * Retrieve every course as response data, for the in-memory course catalog.
+     *
+     * @return The data of every course.
+     */
+    @Operation(summary = "List all courses", description = "Retrieve every course as response data.")
+    @Query("""
+            SELECT new mx.alura.api.record.course.ResponseCourseData(c.id, c.name, c.category, c.version)
+            FROM Course c
+            """)
+    List<ResponseCourseData> findAllResponseData();
+
+    /**
+     * Stream the ID and name of every course, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @return A stream of autocomplete suggestions.
+     */
+    @Operation(summary = "Stream course suggestions", description = "Stream every course name for the autocomplete index.")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new mx.alura.api.record.autocomplete.SuggestionData(c.id, c.name)
+            FROM Course c
+            """)
+    Stream<SuggestionData> streamSuggestions();
 }
@@ -3,11 +3,21 @@ package mx.alura.api.repository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
 import mx.alura.api.model.Message;
+import mx.alura.api.record.message.ListMessageData;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * This repository interface provides CRUD (Create, Read, Update, Delete) operations for the Message entity.
@@ -17,18 +27,58 @@ import org.springframework.data.jpa.repository.Query;
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
     /**
-     * Retrieve messages by the name of the course.
+     * Retrieve a message together with its user and post in a single statement.
      *
-     * @param courseName The name of the course to filter messages.
-     * @param pageable   The pageable information for pagination.
-     * @return A page of messages associated with the specified course name.
+     * @param id The ID of the message.
+     * @return The message with its associations initialized, if found.
      */
-    @Operation(summary = "List messages by course name", description = "Retrieve messages by the name of the course.")
-    @Query("""
-                SELECT m FROM Message m WHERE m.postId.course.name=:courseName
+    @Operation(summary = "Find message by ID", description = "Retrieve a message with its user and post.")
+    @EntityGraph(attributePaths = {"userId", "postId"})
+    Optional<Message> findWithUserAndPostById(Long id);
+
+    /**
+     * Retrieve only the version of a message, to answer conditional requests without loading the row.
+     *
+     * @param id The ID of the message.
+     * @return The version of the message, if found.
+     */
+    @Operation(summary = "Find message version by ID", description = "Retrieve the version of a message.")
+    @Query("SELECT m.version FROM Message m WHERE m.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Retrieve all messages as list data, selecting only the listed columns.
+     *
+     * @param pageable The pageable information for pagination.
+     * @return A page of message list data.
+     */
+    @Operation(summary = "List messages", description = "Retrieve all messages as list data.")
+    @Query(value = """
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            """, countQuery = """
+            SELECT COUNT(m) FROM Message m
+            """)
+    Page<ListMessageData> findAllListData(Pageable pageable);
+
+    /**
+     * Retrieve messages by course, joining only posts to reach its course_id column.
+     *
+     * @param courseId The ID of the course to filter messages.
+     * @param pageable The pageable information for pagination.
+     * @return A page of messages associated with the specified course.
+     */
+    @Operation(summary = "List messages by course", description = "Retrieve messages by the ID of the course.")
+    @Query(value = """
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            WHERE m.postId.course.id=:courseId
+            """, countQuery = """
+            SELECT COUNT(m) FROM Message m
+            WHERE m.postId.course.id=:courseId
             """)
-    Page<Message> findByCourseName(
-            @Parameter(description = "The name of the course to filter messages.") String courseName,
+    Page<ListMessageData> findByCourseId(
+            @Parameter(description = "The ID of the course to filter messages.") Long courseId,
             Pageable pageable
     );
 
@@ -40,11 +90,107 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      * @return A page of messages associated with the specified username.
      */
     @Operation(summary = "List messages by username", description = "Retrieve messages by the username of the user.")
-    @Query("""
-                SELECT m FROM Message m WHERE m.userId.username=:username
+    @Query(value = """
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            WHERE m.userId.username=:username
+            """, countQuery = """
+            SELECT COUNT(m) FROM Message m
+            WHERE m.userId.username=:username
             """)
-    Page<Message> findByUsername(
+    Page<ListMessageData> findByUsername(
             @Parameter(description = "The username of the user to filter messages.") String username,
             Pageable pageable
     );
+
+    /**
+     * Retrieve the messages created before the given position, newest first, without a count query.
+     *
+     * @param creationDate The creation date of the last message already returned.
+     * @param id           The ID of the last message already returned.
+     * @param pageable     The page request limiting the number of rows.
+     * @return The next messages after the given position.
+     */
+    @Operation(summary = "List messages after a cursor", description = "Retrieve messages older than the given position.")
+    @Query("""
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            WHERE m.creationDate < :creationDate
+               OR (m.creationDate = :creationDate AND m.id < :id)
+            ORDER BY m.creationDate DESC, m.id DESC
+            """)
+    List<ListMessageData> findPageAfter(Timestamp creationDate, Long id, Pageable pageable);
+
+    /**
+     * Retrieve the messages of a user created before the given position, newest first, without a count query.
+     *
+     * @param username     The username of the user to filter messages.
+     * @param creationDate The creation date of the last message already returned.
+     * @param id           The ID of the last message already returned.
+     * @param pageable     The page request limiting the number of rows.
+     * @return The next messages of the user after the given position.
+     */
+    @Operation(summary = "List messages by username after a cursor", description = "Retrieve messages of a user older than the given position.")
+    @Query("""
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            WHERE m.userId.username = :username
+              AND (m.creationDate < :creationDate
+               OR (m.creationDate = :creationDate AND m.id < :id))
+            ORDER BY m.creationDate DESC, m.id DESC
+            """)
+    List<ListMessageData> findPageByUsernameAfter(String username, Timestamp creationDate, Long id, Pageable pageable);
+
+    /**
+     * Retrieve the messages of a course created before the given position, newest first, without a count query.
+     *
+     * @param courseId     The ID of the course to filter messages.
+     * @param creationDate The creation date of the last message already returned.
+     * @param id           The ID of the last message already returned.
+     * @param pageable     The page request limiting the number of rows.
+     * @return The next messages of the course after the given position.
+     */
+    @Operation(summary = "List messages by course after a cursor", description = "Retrieve messages of a course older than the given position.")
+    @Query("""
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            WHERE m.postId.course.id = :courseId
+              AND (m.creationDate < :creationDate
+               OR (m.creationDate = :creationDate AND m.id < :id))
+            ORDER BY m.creationDate DESC, m.id DESC
+            """)
+    List<ListMessageData> findPageByCourseIdAfter(Long courseId, Timestamp creationDate, Long id, Pageable pageable);
+
+    /**
+     * Stream every message of a course in ID order, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param courseId The ID of the course to filter messages.
+     * @return A stream of the messages of the course.
+     */
+    @Operation(summary = "Stream messages by course", description = "Stream every message of a course for export.")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT m FROM Message m
+            WHERE m.postId.course.id = :courseId
+            ORDER BY m.id
+            """)
+    Stream<Message> streamByCourseId(Long courseId);
+
+    /**
+     * Stream every message as list data, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @return A stream of the list data of every message.
+     */
+    @Operation(summary = "Stream messages", description = "Stream every message for the search index.")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new mx.alura.api.record.message.ListMessageData(m.id, m.message, m.creationDate, m.status, m.version)
+            FROM Message m
+            """)
+    Stream<ListMessageData> streamAllListData();
 }
@@ -3,11 +3,22 @@ package mx.alura.api.repository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
 import mx.alura.api.model.Post;
+import mx.alura.api.record.autocomplete.SuggestionData;
+import mx.alura.api.record.post.ListPostData;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * This repository interface provides CRUD (Create, Read, Update, Delete) operations for the Message entity.
@@ -15,6 +26,41 @@ import org.springframework.data.jpa.repository.Query;
 @Tag(name = "Pots", description = "Operations related to messages")
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    /**
+     * Retrieve a post together with its user and course in a single statement.
+     *
+     * @param id The ID of the post.
+     * @return The post with its associations initialized, if found.
+     */
+    @Operation(summary = "Find post by ID", description = "Retrieve a post with its user and course.")
+    @EntityGraph(attributePaths = {"user", "course"})
+    Optional<Post> findWithUserAndCourseById(Long id);
+
+    /**
+     * Retrieve only the version of a post, to answer conditional requests without loading the row.
+     *
+     * @param id The ID of the post.
+     * @return The version of the post, if found.
+     */
+    @Operation(summary = "Find post version by ID", description = "Retrieve the version of a post.")
+    @Query("SELECT p.version FROM Post p WHERE p.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Retrieve all posts as list data, selecting only the listed columns.
+     *
+     * @param pageable The pageable information for pagination.
+     * @return A page of post list data.
+     */
+    @Operation(summary = "List posts", description = "Retrieve all posts as list data.")
+    @Query(value = """
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            """, countQuery = """
+            SELECT COUNT(p) FROM Post p
+            """)
+    Page<ListPostData> findAllListData(Pageable pageable);
+
     /**
      * Retrieve posts by the username of the user.
      *
@@ -24,26 +70,142 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      */
     @Operation(summary = "List messages by username", description = "Retrieve messages by the username of the user.")
 
-    @Query("""
-            SELECT p FROM Post p
+    @Query(value = """
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            WHERE p.user.username=:username
+            """, countQuery = """
+            SELECT COUNT(p) FROM Post p
             WHERE p.user.username=:username
-            ORDER BY p.creationDate DESC
             """)
-    Page<Post> findByUsername(
+    Page<ListPostData> findByUsername(
             @Parameter(description = "The username of the user to filter messages.") String username,
             Pageable pageable
     );
 
     /**
-     * Retrieve Post by the name of the course.
+     * Retrieve posts by course, filtering on the course_id column without joining courses.
      *
-     * @param courseName The name of the course to filter posts.
-     * @param pageable   The pageable information for pagination.
-     * @return A page of messages associated with the specified course name.
+     * @param courseId The ID of the course to filter posts.
+     * @param pageable The pageable information for pagination.
+     * @return A page of posts associated with the specified course.
      */
-    @Operation(summary = "List posts by course name", description = "Retrieve posts by the name of the course.")
-    Page<Post> findByCourseName(
-            @Parameter(description = "The name of the course to filter messages.") String courseName,
+    @Operation(summary = "List posts by course", description = "Retrieve posts by the ID of the course.")
+    @Query(value = """
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            WHERE p.course.id=:courseId
+            """, countQuery = """
+            SELECT COUNT(p) FROM Post p
+            WHERE p.course.id=:courseId
+            """)
+    Page<ListPostData> findByCourseId(
+            @Parameter(description = "The ID of the course to filter posts.") Long courseId,
             Pageable pageable
     );
+
+    /**
+     * Retrieve the posts created before the given position, newest first, without a count query.
+     *
+     * @param creationDate The creation date of the last post already returned.
+     * @param id           The ID of the last post already returned.
+     * @param pageable     The page request limiting the number of rows.
+     * @return The next posts after the given position.
+     */
+    @Operation(summary = "List posts after a cursor", description = "Retrieve posts older than the given position.")
+    @Query("""
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            WHERE p.creationDate < :creationDate
+               OR (p.creationDate = :creationDate AND p.id < :id)
+            ORDER BY p.creationDate DESC, p.id DESC
+            """)
+    List<ListPostData> findPageAfter(Timestamp creationDate, Long id, Pageable pageable);
+
+    /**
+     * Retrieve the posts of a user created before the given position, newest first, without a count query.
+     *
+     * @param username     The username of the user to filter posts.
+     * @param creationDate The creation date of the last post already returned.
+     * @param id           The ID of the last post already returned.
+     * @param pageable     The page request limiting the number of rows.
+     * @return The next posts of the user after the given position.
+     */
+    @Operation(summary = "List posts by username after a cursor", description = "Retrieve posts of a user older than the given position.")
+    @Query("""
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            WHERE p.user.username = :username
+              AND (p.creationDate < :creationDate
+               OR (p.creationDate = :creationDate AND p.id < :id))
+            ORDER BY p.creationDate DESC, p.id DESC
+            """)
+    List<ListPostData> findPageByUsernameAfter(String username, Timestamp creationDate, Long id, Pageable pageable);
+
+    /**
+     * Retrieve the posts of a course created before the given position, newest first, without a count query.
+     *
+     * @param courseId     The ID of the course to filter posts.
+     * @param creationDate The creation date of the last post already returned.
+     * @param id           The ID of the last post already returned.
+     * @param pageable     The page request limiting the number of rows.
+     * @return The next posts of the course after the given position.
+     */
+    @Operation(summary = "List posts by course after a cursor", description = "Retrieve posts of a course older than the given position.")
+    @Query("""
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            WHERE p.course.id = :courseId
+              AND (p.creationDate < :creationDate
+               OR (p.creationDate = :creationDate AND p.id < :id))
+            ORDER BY p.creationDate DESC, p.id DESC
+            """)
+    List<ListPostData> findPageByCourseIdAfter(Long courseId, Timestamp creationDate, Long id, Pageable pageable);
+
+    /**
+     * Stream every post of a course in ID order, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @param courseId The ID of the course to filter posts.
+     * @return A stream of the posts of the course.
+     */
+    @Operation(summary = "Stream posts by course", description = "Stream every post of a course for export.")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.course.id = :courseId
+            ORDER BY p.id
+            """)
+    Stream<Post> streamByCourseId(Long courseId);
+
+    /**
+     * Stream every post as list data, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @return A stream of the list data of every post.
+     */
+    @Operation(summary = "Stream posts", description = "Stream every post for the search index.")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new mx.alura.api.record.post.ListPostData(p.id, p.title, p.message, p.creationDate, p.version)
+            FROM Post p
+            """)
+    Stream<ListPostData> streamAllListData();
+
+    /**
+     * Stream the ID and title of every post, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @return A stream of autocomplete suggestions.
+     */
+    @Operation(summary = "Stream post suggestions", description = "Stream every post title for the autocomplete index.")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new mx.alura.api.record.autocomplete.SuggestionData(p.id, p.title)
+            FROM Post p
+            """)
+    Stream<SuggestionData> streamSuggestions();
 }
@@ -0,0 +1,44 @@
+package mx.alura.api.repository;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import mx.alura.api.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * This repository interface provides CRUD (Create, Read, Update, Delete) operations for the RevokedToken entity.
+ */
+@Tag(name = "Revoked tokens", description = "Operations related to revoked tokens")
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Retrieve the IDs of revoked tokens that have not expired yet.
+     *
+     * @param now The current time.
+     * @return The token IDs still worth rejecting.
+     */
+    @Query("""
+            SELECT r.jti FROM RevokedToken r
+            WHERE r.expiresAt > :now
+            """)
+    List<String> findActiveJtis(Timestamp now);
+
+    /**
+     * Delete revoked tokens that have already expired.
+     *
+     * @param now The current time.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM RevokedToken r
+            WHERE r.expiresAt <= :now
+            """)
+    int deleteExpired(Timestamp now);
+}
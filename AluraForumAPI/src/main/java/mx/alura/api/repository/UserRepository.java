@@ -3,10 +3,20 @@ package mx.alura.api.repository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
 import mx.alura.api.model.User;
+import mx.alura.api.record.autocomplete.SuggestionData;
+import mx.alura.api.record.user.ResponseUserData;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.stream.Stream;
+
 /**
  * This repository interface provides CRUD (Create, Read, Update, Delete) operations for the User entity.
  */
@@ -15,13 +25,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Find a user by their username.
+     * The result is kept in the query cache and invalidated by any write to the users table.
      *
      * @param username The username of the user to find.
      * @return UserDetails object representing the user with the given username.
      */
     @Operation(summary = "Find user by username", description = "Find a user by their username.")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     UserDetails findByUsername(
             @Parameter(description = "The username of the user to find.") String username
     );
 
+    /**
+     * Retrieve all users as response data, without loading password hashes.
+     *
+     * @param pageable The pageable information for pagination.
+     * @return A page of user response data.
+     */
+    @Operation(summary = "List users", description = "Retrieve all users as response data.")
+    @Query(value = """
+            SELECT new mx.alura.api.record.user.ResponseUserData(u.id, u.username, u.email, u.version)
+            FROM User u
+            """, countQuery = """
+            SELECT COUNT(u) FROM User u
+            """)
+    Page<ResponseUserData> findAllResponseData(Pageable pageable);
+
+    /**
+     * Stream the ID and username of every user, fetching rows from the server in chunks.
+     * Must be consumed inside a transaction and closed by the caller.
+     *
+     * @return A stream of autocomplete suggestions.
+     */
+    @Operation(summary = "Stream user suggestions", description = "Stream every username for the autocomplete index.")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new mx.alura.api.record.autocomplete.SuggestionData(u.id, u.username)
+            FROM User u
+            """)
+    Stream<SuggestionData> streamSuggestions();
 }
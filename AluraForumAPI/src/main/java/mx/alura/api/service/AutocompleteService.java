@@ -0,0 +1,109 @@
+package mx.alura.api.service;
+
+import mx.alura.api.infra.autocomplete.AutocompleteIndex;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.record.autocomplete.SuggestionData;
+import mx.alura.api.repository.CourseRepository;
+import mx.alura.api.repository.PostRepository;
+import mx.alura.api.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service answering typeahead lookups from the in-memory {@link AutocompleteIndex}, without touching the database.
+ * The index is loaded at startup and kept current by the services that write courses, posts and users;
+ * deletes that cascade in the database mark it stale, and a stale index is rebuilt in the background.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    private final CourseRepository courseRepository;
+
+    private final PostRepository postRepository;
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructs a new AutocompleteService.
+     *
+     * @param autocompleteIndex  The index queried and rebuilt by this service.
+     * @param courseRepository   The repository streaming course names on rebuild.
+     * @param postRepository     The repository streaming post titles on rebuild.
+     * @param userRepository     The repository streaming usernames on rebuild.
+     * @param transactionManager The transaction manager that runs the rebuild.
+     */
+    public AutocompleteService(
+            AutocompleteIndex autocompleteIndex,
+            CourseRepository courseRepository,
+            PostRepository postRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.autocompleteIndex = autocompleteIndex;
+        this.courseRepository = courseRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Suggests values starting with a prefix.
+     *
+     * @param kind   The kind of value.
+     * @param prefix The typed prefix; case and accents are ignored.
+     * @param limit  The maximum number of suggestions, between 1 and 20.
+     * @return The matching values in alphabetical order.
+     */
+    public List<SuggestionData> suggest(AutocompleteKind kind, String prefix, int limit) {
+        return autocompleteIndex.suggest(kind, prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Reloads the whole index from the database. Lookups keep using the previous index until the new one is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        autocompleteIndex.rebuild(builder -> readOnlyTransaction.executeWithoutResult(status -> {
+            load(AutocompleteKind.COURSE, courseRepository.streamSuggestions(), builder);
+            load(AutocompleteKind.POST, postRepository.streamSuggestions(), builder);
+            load(AutocompleteKind.USER, userRepository.streamSuggestions(), builder);
+        }));
+    }
+
+    /**
+     * Rebuilds the index when rows were removed by database cascades since the last rebuild.
+     */
+    @Scheduled(fixedDelay = 30_000)
+    public void rebuildIfStale() {
+        if (autocompleteIndex.isStale()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Adds every streamed value to the builder and closes the stream.
+     *
+     * @param kind        The kind of the streamed values.
+     * @param suggestions The streamed values.
+     * @param builder     The builder of the new index.
+     */
+    private static void load(AutocompleteKind kind, Stream<SuggestionData> suggestions, AutocompleteIndex.Builder builder) {
+        try (suggestions) {
+            suggestions.forEach(suggestion -> builder.add(kind, suggestion.id(), suggestion.value()));
+        }
+    }
+}
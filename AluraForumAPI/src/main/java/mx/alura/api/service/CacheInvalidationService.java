@@ -0,0 +1,218 @@
+package mx.alura.api.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import mx.alura.api.infra.autocomplete.AutocompleteIndex;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.infra.cache.CacheRegion;
+import mx.alura.api.infra.cache.ResponseCache;
+import mx.alura.api.infra.catalog.CourseCatalog;
+import mx.alura.api.infra.invalidation.InvalidationEvent;
+import mx.alura.api.infra.invalidation.InvalidationListener;
+import mx.alura.api.infra.search.SearchDocumentType;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.infra.security.PrincipalCache;
+import mx.alura.api.model.Course;
+import mx.alura.api.model.User;
+import mx.alura.api.repository.CourseRepository;
+import mx.alura.api.repository.MessageRepository;
+import mx.alura.api.repository.PostRepository;
+import mx.alura.api.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies the changes made by other instances to the caches of this one.
+ * Changed rows are read back and put into the search and autocomplete indexes; rows that are gone are
+ * removed, and the indexes are marked stale when the delete may have cascaded. Response, principal and
+ * second-level cache entries are dropped and reloaded on their next read.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CacheInvalidationService implements InvalidationListener {
+
+    private final UserRepository userRepository;
+
+    private final CourseRepository courseRepository;
+
+    private final PostRepository postRepository;
+
+    private final MessageRepository messageRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final PrincipalCache principalCache;
+
+    private final CourseCatalog courseCatalog;
+
+    private final ResponseCache responseCache;
+
+    private final SearchIndex searchIndex;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    /**
+     * Constructs a new CacheInvalidationService.
+     *
+     * @param userRepository       The repository the changed users are read from.
+     * @param courseRepository     The repository the changed courses are read from.
+     * @param postRepository       The repository the changed posts are read from.
+     * @param messageRepository    The repository the changed messages are read from.
+     * @param entityManagerFactory The factory whose second-level cache holds users and courses.
+     * @param principalCache       The cache of authenticated principals.
+     * @param courseCatalog        The in-memory course catalog.
+     * @param responseCache        The HTTP response cache.
+     * @param searchIndex          The full-text index.
+     * @param autocompleteIndex    The typeahead index.
+     */
+    public CacheInvalidationService(
+            UserRepository userRepository,
+            CourseRepository courseRepository,
+            PostRepository postRepository,
+            MessageRepository messageRepository,
+            EntityManagerFactory entityManagerFactory,
+            PrincipalCache principalCache,
+            CourseCatalog courseCatalog,
+            ResponseCache responseCache,
+            SearchIndex searchIndex,
+            AutocompleteIndex autocompleteIndex
+    ) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.postRepository = postRepository;
+        this.messageRepository = messageRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.principalCache = principalCache;
+        this.courseCatalog = courseCatalog;
+        this.responseCache = responseCache;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    /**
+     * Applies a change made by another instance.
+     *
+     * @param event The change.
+     */
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        switch (event.entity()) {
+            case USER -> userChanged(event.id());
+            case COURSE -> courseChanged(event.id());
+            case POST -> postChanged(event.id());
+            case MESSAGE -> messageChanged(event.id());
+            case REVOKED_TOKEN -> {
+                // Applied by TokenRevocationService; nothing cached here depends on revocations.
+            }
+        }
+    }
+
+    /**
+     * Drops what was cached for a user. Principals are cached by username, which the event does not carry,
+     * and the username lookup is held in the query cache, so both are cleared.
+     *
+     * @param id The ID of the user, or null for any user.
+     */
+    private void userChanged(Long id) {
+        principalCache.clear();
+        evict(User.class, id);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        if (id == null) {
+            markIndexesStale();
+            return;
+        }
+        userRepository.findById(id).ifPresentOrElse(
+                user -> autocompleteIndex.put(AutocompleteKind.USER, user.getId(), user.getUsername()),
+                () -> {
+                    autocompleteIndex.remove(AutocompleteKind.USER, id);
+                    markIndexesStale();
+                }
+        );
+    }
+
+    /**
+     * Reloads the course catalog and drops what was cached for a course.
+     *
+     * @param id The ID of the course, or null for any course.
+     */
+    private void courseChanged(Long id) {
+        evict(Course.class, id);
+        courseCatalog.reload();
+        responseCache.invalidate(CacheRegion.COURSES, CacheRegion.POSTS, CacheRegion.MESSAGES);
+        if (id == null) {
+            markIndexesStale();
+            return;
+        }
+        courseRepository.findById(id).ifPresentOrElse(
+                course -> autocompleteIndex.put(AutocompleteKind.COURSE, course.getId(), course.getName()),
+                () -> {
+                    autocompleteIndex.remove(AutocompleteKind.COURSE, id);
+                    markIndexesStale();
+                }
+        );
+    }
+
+    /**
+     * Re-indexes a post, or removes it when it is gone.
+     *
+     * @param id The ID of the post, or null for any post.
+     */
+    private void postChanged(Long id) {
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        if (id == null) {
+            markIndexesStale();
+            return;
+        }
+        postRepository.findById(id).ifPresentOrElse(
+                post -> {
+                    searchIndex.index(SearchDocumentType.POST, post.getId(), post.getTitle(), post.getMessage());
+                    autocompleteIndex.put(AutocompleteKind.POST, post.getId(), post.getTitle());
+                },
+                () -> {
+                    searchIndex.remove(SearchDocumentType.POST, id);
+                    autocompleteIndex.remove(AutocompleteKind.POST, id);
+                    searchIndex.markStale();
+                }
+        );
+    }
+
+    /**
+     * Re-indexes a message, or removes it when it is gone.
+     *
+     * @param id The ID of the message, or null for any message.
+     */
+    private void messageChanged(Long id) {
+        responseCache.invalidate(CacheRegion.MESSAGES);
+        if (id == null) {
+            searchIndex.markStale();
+            return;
+        }
+        messageRepository.findById(id).ifPresentOrElse(
+                message -> searchIndex.index(SearchDocumentType.MESSAGE, message.getId(), null, message.getMessage()),
+                () -> searchIndex.remove(SearchDocumentType.MESSAGE, id)
+        );
+    }
+
+    /**
+     * Evicts an entity, or every entity of its type, from the second-level cache.
+     *
+     * @param type The entity type.
+     * @param id   The ID of the entity, or null for all of them.
+     */
+    private void evict(Class<?> type, Long id) {
+        if (id == null) {
+            entityManagerFactory.getCache().evict(type);
+        } else {
+            entityManagerFactory.getCache().evict(type, id);
+        }
+    }
+
+    /**
+     * Flags the search and autocomplete indexes for a rebuild, for deletes that cascaded to rows not named in the event.
+     */
+    private void markIndexesStale() {
+        searchIndex.markStale();
+        autocompleteIndex.markStale();
+    }
+}
@@ -0,0 +1,186 @@
+package mx.alura.api.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import mx.alura.api.infra.autocomplete.AutocompleteIndex;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.infra.cache.CacheRegion;
+import mx.alura.api.infra.cache.ResponseCache;
+import mx.alura.api.infra.invalidation.ChangedEntity;
+import mx.alura.api.infra.invalidation.InvalidationBus;
+import mx.alura.api.infra.catalog.CourseCatalog;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.etag.PreconditionFailedException;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.model.Course;
+import mx.alura.api.record.course.RegisterCourseData;
+import mx.alura.api.record.course.ResponseCourseData;
+import mx.alura.api.record.course.UpdateCourseByIdData;
+import mx.alura.api.record.course.UpdateCourseData;
+import mx.alura.api.repository.CourseRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service responsible for reading and writing courses.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CourseService {
+
+    private final CourseRepository courseRepository;
+
+    private final SearchIndex searchIndex;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    private final CourseCatalog courseCatalog;
+
+    private final ResponseCache responseCache;
+
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * Constructs a new CourseService.
+     *
+     * @param courseRepository  The repository for managing courses.
+     * @param searchIndex       The full-text index, marked stale when a delete cascades to posts.
+     * @param autocompleteIndex The typeahead index updated after each write.
+     * @param courseCatalog     The in-memory catalog serving reads, replaced after each write.
+     * @param responseCache     The HTTP response cache invalidated after each write.
+     * @param invalidationBus   The bus telling the other instances about each write.
+     */
+    public CourseService(
+            CourseRepository courseRepository,
+            SearchIndex searchIndex,
+            AutocompleteIndex autocompleteIndex,
+            CourseCatalog courseCatalog,
+            ResponseCache responseCache,
+            InvalidationBus invalidationBus
+    ) {
+        this.courseRepository = courseRepository;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.courseCatalog = courseCatalog;
+        this.responseCache = responseCache;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Registers a new course.
+     *
+     * @param registerCourseData The data to register a new course.
+     * @return The registered course data.
+     */
+    @Transactional
+    public ResponseCourseData register(RegisterCourseData registerCourseData) {
+        return published(courseRepository.save(new Course(registerCourseData)));
+    }
+
+    /**
+     * Lists all courses from the in-memory catalog.
+     *
+     * @param pageable The pageable request for pagination.
+     * @return A page of course data.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<ResponseCourseData> list(Pageable pageable) {
+        return courseCatalog.list(pageable);
+    }
+
+    /**
+     * Retrieves a course by its ID from the in-memory catalog.
+     *
+     * @param id The ID of the course.
+     * @return The course data.
+     * @throws EntityNotFoundException If the course does not exist.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseCourseData getById(Long id) {
+        return courseCatalog.findById(id).orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Updates a course's data.
+     *
+     * @param updateCourseData The data for updating the course.
+     * @param ifMatch          The If-Match header of the request, or null to update unconditionally.
+     * @return The updated course data.
+     * @throws EntityNotFoundException     If the course does not exist.
+     * @throws PreconditionFailedException If the course no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponseCourseData update(UpdateCourseData updateCourseData, String ifMatch) {
+        Course course = findCourse(updateCourseData.id());
+        ETags.checkIfMatch(ifMatch, course.getVersion());
+        course.updateData(updateCourseData);
+        courseRepository.flush();
+        return published(course);
+    }
+
+    /**
+     * Updates a course's data by its ID.
+     *
+     * @param id                   The ID of the course to update.
+     * @param updateCourseByIdData The data for updating the course.
+     * @param ifMatch              The If-Match header of the request, or null to update unconditionally.
+     * @return The updated course data.
+     * @throws EntityNotFoundException     If the course does not exist.
+     * @throws PreconditionFailedException If the course no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponseCourseData update(Long id, UpdateCourseByIdData updateCourseByIdData, String ifMatch) {
+        Course course = findCourse(id);
+        ETags.checkIfMatch(ifMatch, course.getVersion());
+        course.updateData(updateCourseByIdData);
+        courseRepository.flush();
+        return published(course);
+    }
+
+    /**
+     * Deletes a course by its ID.
+     *
+     * @param id The ID of the course to delete.
+     * @throws EntityNotFoundException If the course does not exist.
+     */
+    @Transactional
+    public void delete(Long id) {
+        courseRepository.delete(findCourse(id));
+        searchIndex.markStale();
+        autocompleteIndex.remove(AutocompleteKind.COURSE, id);
+        autocompleteIndex.markStale();
+        courseCatalog.remove(id);
+        responseCache.invalidate(CacheRegion.COURSES, CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.COURSE, id);
+    }
+
+    /**
+     * Publishes a saved course to the catalog and the autocomplete index once the transaction commits.
+     * Posts and messages are listed by course name, so their cached responses are dropped too.
+     * Updated courses must be flushed first, so the catalog holds the version the update produced.
+     *
+     * @param course The saved course.
+     * @return The course data.
+     */
+    private ResponseCourseData published(Course course) {
+        ResponseCourseData data = new ResponseCourseData(course);
+        courseCatalog.put(data);
+        autocompleteIndex.put(AutocompleteKind.COURSE, data.id(), data.name());
+        responseCache.invalidate(CacheRegion.COURSES, CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.COURSE, data.id());
+        return data;
+    }
+
+    /**
+     * Loads a course.
+     *
+     * @param id The ID of the course.
+     * @return The course.
+     * @throws EntityNotFoundException If the course does not exist.
+     */
+    private Course findCourse(Long id) {
+        return courseRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+    }
+}
@@ -0,0 +1,44 @@
+package mx.alura.api.service;
+
+/**
+ * Output formats supported by {@link ExportService}.
+ */
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row, quoted as in RFC 4180.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the media type of the format.
+     *
+     * @return The Content-Type header value.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the file extension of the format.
+     *
+     * @return The extension, without the dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
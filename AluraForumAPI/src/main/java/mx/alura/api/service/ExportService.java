@@ -0,0 +1,204 @@
+package mx.alura.api.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import mx.alura.api.infra.catalog.CourseCatalog;
+import mx.alura.api.model.Message;
+import mx.alura.api.model.Post;
+import mx.alura.api.record.message.ResponseMessageData;
+import mx.alura.api.record.post.ResponsePostData;
+import mx.alura.api.repository.MessageRepository;
+import mx.alura.api.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Service that writes every post or message of a course to an output stream.
+ * Rows are read through a database cursor and converted to response data one at a time;
+ * the persistence context is cleared every few rows, so heap use stays flat for any course size.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private final PostRepository postRepository;
+
+    private final MessageRepository messageRepository;
+
+    private final CourseCatalog courseCatalog;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final int clearInterval;
+
+    /**
+     * Constructs a new ExportService.
+     *
+     * @param postRepository    The repository for reading posts.
+     * @param messageRepository The repository for reading messages.
+     * @param courseCatalog     The in-memory catalog resolving course names to IDs.
+     * @param entityManager     The entity manager cleared while streaming.
+     * @param objectMapper      The mapper used to write NDJSON lines.
+     * @param clearInterval     The number of rows written between persistence context clears.
+     */
+    public ExportService(
+            PostRepository postRepository,
+            MessageRepository messageRepository,
+            CourseCatalog courseCatalog,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${api.export.clear-interval:500}") int clearInterval
+    ) {
+        this.postRepository = postRepository;
+        this.messageRepository = messageRepository;
+        this.courseCatalog = courseCatalog;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.clearInterval = Math.max(1, clearInterval);
+    }
+
+    /**
+     * Writes every post of a course.
+     *
+     * @param courseName The name of the course.
+     * @param format     The output format.
+     * @param out        The stream to write to; it is flushed but not closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void exportPosts(String courseName, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Post> posts = courseCatalog.findId(courseName).map(postRepository::streamByCourseId).orElseGet(Stream::empty)) {
+            write(posts, ResponsePostData::new, ResponsePostData.class, format, out);
+        }
+    }
+
+    /**
+     * Writes every message of a course.
+     *
+     * @param courseName The name of the course.
+     * @param format     The output format.
+     * @param out        The stream to write to; it is flushed but not closed.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void exportMessages(String courseName, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Message> messages = courseCatalog.findId(courseName).map(messageRepository::streamByCourseId).orElseGet(Stream::empty)) {
+            write(messages, ResponseMessageData::new, ResponseMessageData.class, format, out);
+        }
+    }
+
+    /**
+     * Converts each row to its response record and writes it in the requested format.
+     *
+     * @param rows   The streamed entities.
+     * @param toData Function building the response record of an entity.
+     * @param type   The response record type, whose components not hidden from JSON are the CSV columns.
+     * @param format The output format.
+     * @param out    The stream to write to.
+     * @param <T>    The entity type.
+     * @param <R>    The response record type.
+     * @throws IOException If the stream cannot be written.
+     */
+    private <T, R extends Record> void write(
+            Stream<T> rows,
+            Function<T, R> toData,
+            Class<R> type,
+            ExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RecordComponent[] columns = Arrays.stream(type.getRecordComponents())
+                .filter(column -> !column.getAccessor().isAnnotationPresent(JsonIgnore.class))
+                .toArray(RecordComponent[]::new);
+        if (format == ExportFormat.CSV) {
+            writeCsvHeader(columns, writer);
+        }
+
+        long written = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            R data = toData.apply(iterator.next());
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(columns, data, writer);
+            } else {
+                writer.write(objectMapper.writeValueAsString(data));
+                writer.write('\n');
+            }
+            if (++written % clearInterval == 0) {
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the CSV header row.
+     *
+     * @param columns The record components.
+     * @param writer  The writer.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeCsvHeader(RecordComponent[] columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns[i].getName());
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Writes one CSV row, quoting values that contain separators, quotes or line breaks.
+     *
+     * @param columns The record components.
+     * @param data    The record to write.
+     * @param writer  The writer.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeCsvRow(RecordComponent[] columns, Record data, Writer writer) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value;
+            try {
+                value = columns[i].getAccessor().invoke(data);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a CSV value when needed.
+     *
+     * @param value The raw value.
+     * @return The value as it must appear in the file.
+     */
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
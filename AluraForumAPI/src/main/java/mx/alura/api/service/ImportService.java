@@ -0,0 +1,346 @@
+package mx.alura.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import mx.alura.api.infra.autocomplete.AutocompleteIndex;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.infra.cache.CacheRegion;
+import mx.alura.api.infra.cache.ResponseCache;
+import mx.alura.api.infra.invalidation.ChangedEntity;
+import mx.alura.api.infra.invalidation.InvalidationBus;
+import mx.alura.api.infra.search.SearchDocumentType;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.model.Course;
+import mx.alura.api.model.Message;
+import mx.alura.api.model.Post;
+import mx.alura.api.model.User;
+import mx.alura.api.record.imports.ImportErrorData;
+import mx.alura.api.record.imports.ImportReportData;
+import mx.alura.api.record.message.RegisterMessageData;
+import mx.alura.api.record.post.RegisterPostData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Service that imports posts and messages from NDJSON streams, one JSON object per line.
+ * Lines are read one at a time and stored in transactions of a fixed number of rows, so memory
+ * use depends on the batch size and the error limit, never on the size of the upload.
+ * A batch that breaks a database constraint is retried one row per transaction, so only the offending
+ * rows are rejected; any other failure aborts the import.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportService.class.getName());
+
+    private static final String INTEGRITY_ERROR = "The operation could not be completed due to integrity constraints.";
+
+    private static final HibernateJpaDialect JPA_DIALECT = new HibernateJpaDialect();
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SearchIndex searchIndex;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    private final ResponseCache responseCache;
+
+    private final InvalidationBus invalidationBus;
+
+    private final int batchSize;
+
+    private final int maxErrors;
+
+    /**
+     * Constructs a new ImportService.
+     *
+     * @param objectMapper       The mapper used to parse each line.
+     * @param validator          The validator applied to each parsed line.
+     * @param entityManager      The entity manager used to persist the rows.
+     * @param transactionManager The transaction manager that runs each batch.
+     * @param searchIndex        The full-text index updated after each stored batch.
+     * @param autocompleteIndex  The typeahead index updated after each stored batch.
+     * @param responseCache      The HTTP response cache invalidated after each stored batch.
+     * @param invalidationBus    The bus telling the other instances about each stored batch.
+     * @param batchSize          The number of rows stored per transaction.
+     * @param maxErrors          The maximum number of rejected lines listed in the report.
+     */
+    public ImportService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            SearchIndex searchIndex,
+            AutocompleteIndex autocompleteIndex,
+            ResponseCache responseCache,
+            InvalidationBus invalidationBus,
+            @Value("${api.import.batch-size:500}") int batchSize,
+            @Value("${api.import.max-errors:1000}") int maxErrors
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.responseCache = responseCache;
+        this.invalidationBus = invalidationBus;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports posts, one {@link RegisterPostData} JSON object per line.
+     *
+     * @param body The NDJSON stream.
+     * @return The import report.
+     * @throws IOException If the stream cannot be read.
+     */
+    public ImportReportData importPosts(InputStream body) throws IOException {
+        return importLines(body, RegisterPostData.class, data -> new Post(
+                data,
+                entityManager.getReference(User.class, data.userId()),
+                entityManager.getReference(Course.class, data.courseId())
+        ));
+    }
+
+    /**
+     * Imports messages, one {@link RegisterMessageData} JSON object per line.
+     *
+     * @param body The NDJSON stream.
+     * @return The import report.
+     * @throws IOException If the stream cannot be read.
+     */
+    public ImportReportData importMessages(InputStream body) throws IOException {
+        return importLines(body, RegisterMessageData.class, data -> new Message(
+                data,
+                entityManager.getReference(User.class, data.user()),
+                entityManager.getReference(Post.class, data.post())
+        ));
+    }
+
+    /**
+     * Reads, validates and stores every line of the stream.
+     *
+     * @param body     The NDJSON stream.
+     * @param type     The record type of each line.
+     * @param toEntity Function building the entity to persist from a line.
+     * @param <T>      The record type of each line.
+     * @return The import report.
+     * @throws IOException If the stream cannot be read.
+     */
+    private <T> ImportReportData importLines(InputStream body, Class<T> type, Function<T, Object> toEntity) throws IOException {
+        Report report = new Report(maxErrors);
+        List<ParsedLine<T>> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        long number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            report.lines++;
+            T data = parse(number, text, type, report);
+            if (data != null) {
+                batch.add(new ParsedLine<>(number, data));
+                if (batch.size() == batchSize) {
+                    store(batch, toEntity, report);
+                    batch.clear();
+                }
+            }
+        }
+        store(batch, toEntity, report);
+        return report.toData();
+    }
+
+    /**
+     * Parses and validates one line.
+     *
+     * @param number The line number.
+     * @param text   The line.
+     * @param type   The record type of the line.
+     * @param report The report where a rejected line is recorded.
+     * @param <T>    The record type of the line.
+     * @return The parsed record, or null if the line was rejected.
+     */
+    private <T> T parse(long number, String text, Class<T> type, Report report) {
+        T data;
+        try {
+            data = objectMapper.readValue(text, type);
+        } catch (JsonProcessingException e) {
+            report.reject(number, "Malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        if (data == null) {
+            report.reject(number, "Expected a JSON object.");
+            return null;
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(data);
+        if (!violations.isEmpty()) {
+            report.reject(number, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return data;
+    }
+
+    /**
+     * Stores a batch in one transaction. If the batch breaks a constraint, its lines are retried one per
+     * transaction so a single bad reference only rejects its own line. Other failures are thrown.
+     *
+     * @param batch    The parsed lines.
+     * @param toEntity Function building the entity to persist from a line.
+     * @param report   The report to update.
+     * @param <T>      The record type of each line.
+     */
+    private <T> void store(List<ParsedLine<T>> batch, Function<T, Object> toEntity, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch, toEntity));
+            report.imported += batch.size();
+        } catch (RuntimeException batchError) {
+            if (!isIntegrityViolation(batchError)) {
+                throw batchError;
+            }
+            LOGGER.log(Level.WARNING, "Import batch of " + batch.size() + " lines broke a constraint, retrying line by line", batchError);
+            for (ParsedLine<T> line : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(line), toEntity));
+                    report.imported++;
+                } catch (RuntimeException lineError) {
+                    if (!isIntegrityViolation(lineError)) {
+                        throw lineError;
+                    }
+                    report.reject(line.number(), INTEGRITY_ERROR);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether a failure was caused by a database constraint. Exceptions thrown by the entity
+     * manager are translated the way Spring translates them for repositories.
+     *
+     * @param e The failure.
+     * @return true if the failure is a constraint violation.
+     */
+    private static boolean isIntegrityViolation(RuntimeException e) {
+        DataAccessException translated = e instanceof DataAccessException dataAccessException
+                ? dataAccessException
+                : JPA_DIALECT.translateExceptionIfPossible(e);
+        return translated instanceof DataIntegrityViolationException;
+    }
+
+    /**
+     * Persists new entities built from the lines and flushes them as JDBC batches.
+     * Entities are rebuilt on every attempt, so a retry never reuses an id from a rolled back batch.
+     *
+     * @param lines    The parsed lines.
+     * @param toEntity Function building the entity to persist from a line.
+     * @param <T>      The record type of each line.
+     */
+    private <T> void persist(List<ParsedLine<T>> lines, Function<T, Object> toEntity) {
+        for (ParsedLine<T> line : lines) {
+            Object entity = toEntity.apply(line.data());
+            entityManager.persist(entity);
+            index(entity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+    }
+
+    /**
+     * Adds a persisted post or message to the search and autocomplete indexes once its transaction commits.
+     * Other instances are told about the batch as a whole rather than row by row.
+     *
+     * @param entity The persisted entity.
+     */
+    private void index(Object entity) {
+        if (entity instanceof Post post) {
+            searchIndex.index(SearchDocumentType.POST, post.getId(), post.getTitle(), post.getMessage());
+            autocompleteIndex.put(AutocompleteKind.POST, post.getId(), post.getTitle());
+            invalidationBus.publish(ChangedEntity.POST, null);
+        } else if (entity instanceof Message message) {
+            searchIndex.index(SearchDocumentType.MESSAGE, message.getId(), null, message.getMessage());
+            invalidationBus.publish(ChangedEntity.MESSAGE, null);
+        }
+    }
+
+    /**
+     * A validated line waiting to be stored.
+     *
+     * @param number The line number.
+     * @param data   The parsed record.
+     * @param <T>    The record type.
+     */
+    private record ParsedLine<T>(long number, T data) {
+    }
+
+    /**
+     * Running totals of an import, keeping at most {@code maxErrors} rejected lines.
+     */
+    private static final class Report {
+
+        private final int maxErrors;
+
+        private final List<ImportErrorData> errors = new ArrayList<>();
+
+        private long lines;
+
+        private long imported;
+
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long number, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorData(number, error));
+            }
+        }
+
+        private ImportReportData toData() {
+            errors.sort(Comparator.comparingLong(ImportErrorData::line));
+            return new ImportReportData(lines, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package mx.alura.api.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import mx.alura.api.infra.cache.CacheRegion;
+import mx.alura.api.infra.cache.ResponseCache;
+import mx.alura.api.infra.invalidation.ChangedEntity;
+import mx.alura.api.infra.invalidation.InvalidationBus;
+import mx.alura.api.infra.catalog.CourseCatalog;
+import mx.alura.api.infra.coalescing.CoalescedReadTimeoutException;
+import mx.alura.api.infra.coalescing.ReadCoalescer;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.etag.PreconditionFailedException;
+import mx.alura.api.infra.search.SearchDocumentType;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.model.Message;
+import mx.alura.api.model.Post;
+import mx.alura.api.model.User;
+import mx.alura.api.record.message.*;
+import mx.alura.api.record.pagination.Cursor;
+import mx.alura.api.record.pagination.CursorPageData;
+import mx.alura.api.repository.MessageRepository;
+import mx.alura.api.repository.PostRepository;
+import mx.alura.api.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service responsible for reading and writing forum messages.
+ * Every method loads what the response needs inside its own transaction and returns
+ * detached data, so the connection is released before the response is serialized.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MessageService {
+
+    private final MessageRepository messageRepository;
+
+    private final UserRepository userRepository;
+
+    private final PostRepository postRepository;
+
+    private final SearchIndex searchIndex;
+
+    private final CourseCatalog courseCatalog;
+
+    private final ResponseCache responseCache;
+
+    private final InvalidationBus invalidationBus;
+
+    private final ReadCoalescer readCoalescer;
+
+    /**
+     * Constructs a new MessageService.
+     *
+     * @param messageRepository The repository for managing messages.
+     * @param userRepository    The repository resolving the user of a message.
+     * @param postRepository    The repository resolving the post of a message.
+     * @param searchIndex       The full-text index updated after each write.
+     * @param courseCatalog     The in-memory catalog resolving course names to IDs.
+     * @param responseCache     The HTTP response cache invalidated after each write.
+     * @param invalidationBus   The bus telling the other instances about each write.
+     * @param readCoalescer     The coalescer sharing one load between concurrent reads of the same message.
+     */
+    public MessageService(
+            MessageRepository messageRepository,
+            UserRepository userRepository,
+            PostRepository postRepository,
+            SearchIndex searchIndex,
+            CourseCatalog courseCatalog,
+            ResponseCache responseCache,
+            InvalidationBus invalidationBus,
+            ReadCoalescer readCoalescer
+    ) {
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.searchIndex = searchIndex;
+        this.courseCatalog = courseCatalog;
+        this.responseCache = responseCache;
+        this.invalidationBus = invalidationBus;
+        this.readCoalescer = readCoalescer;
+    }
+
+    /**
+     * Registers a new message.
+     *
+     * @param registerMessageData The data to register a new message.
+     * @return The registered message data.
+     */
+    @Transactional
+    public ResponseMessageData register(RegisterMessageData registerMessageData) {
+        Message message = messageRepository.save(new Message(
+                registerMessageData,
+                userRepository.getReferenceById(registerMessageData.user()),
+                postRepository.getReferenceById(registerMessageData.post())
+        ));
+        searchIndex.index(SearchDocumentType.MESSAGE, message.getId(), null, message.getMessage());
+        responseCache.invalidate(CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.MESSAGE, message.getId());
+        return new ResponseMessageData(message);
+    }
+
+    /**
+     * Lists all messages.
+     *
+     * @param pageable The pageable request for pagination.
+     * @return A page of message data.
+     */
+    public Page<ListMessageData> list(Pageable pageable) {
+        return messageRepository.findAllListData(pageable);
+    }
+
+    /**
+     * Retrieves a message by its ID. Concurrent requests for the same message share one database load,
+     * so this method opens no transaction of its own.
+     *
+     * @param id The ID of the message.
+     * @return The message data.
+     * @throws EntityNotFoundException       If the message does not exist.
+     * @throws CoalescedReadTimeoutException If the load shared with another request took too long.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseMessageData getById(Long id) {
+        return readCoalescer.load(ResponseMessageData.class, id, () -> new ResponseMessageData(findMessage(id)));
+    }
+
+    /**
+     * Retrieves the current version of a message without loading it, to answer conditional requests.
+     *
+     * @param id The ID of the message.
+     * @return The version of the message, or empty if it does not exist.
+     */
+    public Optional<Long> findVersion(Long id) {
+        return messageRepository.findVersionById(id);
+    }
+
+    /**
+     * Retrieves messages by username.
+     *
+     * @param username The username to filter messages.
+     * @param pageable The pageable request for pagination.
+     * @return A page of message data filtered by username.
+     */
+    public Page<ListMessageData> listByUsername(String username, Pageable pageable) {
+        return messageRepository.findByUsername(username, pageable);
+    }
+
+    /**
+     * Retrieves messages by course name.
+     *
+     * @param courseName The name of the course to filter messages.
+     * @param pageable   The pageable request for pagination.
+     * @return A page of message data filtered by course name.
+     */
+    public Page<ListMessageData> listByCourseName(String courseName, Pageable pageable) {
+        return courseCatalog.findId(courseName)
+                .map(courseId -> messageRepository.findByCourseId(courseId, pageable))
+                .orElseGet(() -> Page.empty(pageable));
+    }
+
+    /**
+     * Lists messages newest first using cursor pagination.
+     *
+     * @param cursor The continuation token returned by the previous page, or null for the first page.
+     * @param size   The number of messages per page.
+     * @return A page of message data and the token for the next page.
+     */
+    public CursorPageData<ListMessageData> listByCursor(String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = CursorPageData.clampSize(size);
+        List<ListMessageData> rows = messageRepository.findPageAfter(position.creationDate(), position.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPageData.of(rows, pageSize, row -> new Cursor(row.creationDate(), row.id()));
+    }
+
+    /**
+     * Retrieves messages by username, newest first, using cursor pagination.
+     *
+     * @param username The username to filter messages.
+     * @param cursor   The continuation token returned by the previous page, or null for the first page.
+     * @param size     The number of messages per page.
+     * @return A page of message data and the token for the next page.
+     */
+    public CursorPageData<ListMessageData> listByUsernameByCursor(String username, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = CursorPageData.clampSize(size);
+        List<ListMessageData> rows = messageRepository.findPageByUsernameAfter(username, position.creationDate(), position.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPageData.of(rows, pageSize, row -> new Cursor(row.creationDate(), row.id()));
+    }
+
+    /**
+     * Retrieves messages by course name, newest first, using cursor pagination.
+     *
+     * @param courseName The name of the course to filter messages.
+     * @param cursor     The continuation token returned by the previous page, or null for the first page.
+     * @param size       The number of messages per page.
+     * @return A page of message data and the token for the next page.
+     */
+    public CursorPageData<ListMessageData> listByCourseNameByCursor(String courseName, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = CursorPageData.clampSize(size);
+        List<ListMessageData> rows = courseCatalog.findId(courseName)
+                .map(courseId -> messageRepository.findPageByCourseIdAfter(courseId, position.creationDate(), position.id(), PageRequest.of(0, pageSize + 1)))
+                .orElse(List.of());
+        return CursorPageData.of(rows, pageSize, row -> new Cursor(row.creationDate(), row.id()));
+    }
+
+    /**
+     * Updates a message's data.
+     *
+     * @param updateMessageData The data for updating the message.
+     * @param ifMatch           The If-Match header of the request, or null to update unconditionally.
+     * @return The updated message data.
+     * @throws EntityNotFoundException     If the message does not exist.
+     * @throws PreconditionFailedException If the message no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponseMessageData update(UpdateMessageData updateMessageData, String ifMatch) {
+        Message message = findMessage(updateMessageData.id());
+        ETags.checkIfMatch(ifMatch, message.getVersion());
+        message.updateData(updateMessageData, userReference(updateMessageData.user()), postReference(updateMessageData.post()));
+        messageRepository.flush();
+        searchIndex.index(SearchDocumentType.MESSAGE, message.getId(), null, message.getMessage());
+        responseCache.invalidate(CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.MESSAGE, message.getId());
+        return new ResponseMessageData(message);
+    }
+
+    /**
+     * Updates a message by its ID.
+     *
+     * @param id                    The ID of the message to update.
+     * @param updateMessageDataById The data for updating the message.
+     * @param ifMatch               The If-Match header of the request, or null to update unconditionally.
+     * @return The updated message data.
+     * @throws EntityNotFoundException     If the message does not exist.
+     * @throws PreconditionFailedException If the message no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponseMessageData update(Long id, UpdateMessageDataById updateMessageDataById, String ifMatch) {
+        Message message = findMessage(id);
+        ETags.checkIfMatch(ifMatch, message.getVersion());
+        message.updateData(updateMessageDataById, userReference(updateMessageDataById.user()), postReference(updateMessageDataById.post()));
+        messageRepository.flush();
+        searchIndex.index(SearchDocumentType.MESSAGE, message.getId(), null, message.getMessage());
+        responseCache.invalidate(CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.MESSAGE, message.getId());
+        return new ResponseMessageData(message);
+    }
+
+    /**
+     * Deletes a message by its ID.
+     *
+     * @param id The ID of the message to delete.
+     * @throws EntityNotFoundException If the message does not exist.
+     */
+    @Transactional
+    public void delete(Long id) {
+        messageRepository.delete(messageRepository.findById(id).orElseThrow(EntityNotFoundException::new));
+        searchIndex.remove(SearchDocumentType.MESSAGE, id);
+        responseCache.invalidate(CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.MESSAGE, id);
+    }
+
+    /**
+     * Loads a message with the associations its response data reads.
+     *
+     * @param id The ID of the message.
+     * @return The message.
+     * @throws EntityNotFoundException If the message does not exist.
+     */
+    private Message findMessage(Long id) {
+        return messageRepository.findWithUserAndPostById(id).orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Resolves a user ID to a reference, without loading the user.
+     *
+     * @param id The ID of the user, or null.
+     * @return The reference, or null when no ID is given.
+     */
+    private User userReference(Long id) {
+        return id != null ? userRepository.getReferenceById(id) : null;
+    }
+
+    /**
+     * Resolves a post ID to a reference, without loading the post.
+     *
+     * @param id The ID of the post, or null.
+     * @return The reference, or null when no ID is given.
+     */
+    private Post postReference(Long id) {
+        return id != null ? postRepository.getReferenceById(id) : null;
+    }
+}
@@ -0,0 +1,321 @@
+package mx.alura.api.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import mx.alura.api.infra.autocomplete.AutocompleteIndex;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.infra.cache.CacheRegion;
+import mx.alura.api.infra.cache.ResponseCache;
+import mx.alura.api.infra.invalidation.ChangedEntity;
+import mx.alura.api.infra.invalidation.InvalidationBus;
+import mx.alura.api.infra.catalog.CourseCatalog;
+import mx.alura.api.infra.coalescing.CoalescedReadTimeoutException;
+import mx.alura.api.infra.coalescing.ReadCoalescer;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.etag.PreconditionFailedException;
+import mx.alura.api.infra.search.SearchDocumentType;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.model.Course;
+import mx.alura.api.model.Message;
+import mx.alura.api.model.Post;
+import mx.alura.api.model.User;
+import mx.alura.api.record.pagination.Cursor;
+import mx.alura.api.record.pagination.CursorPageData;
+import mx.alura.api.record.post.*;
+import mx.alura.api.repository.CourseRepository;
+import mx.alura.api.repository.PostRepository;
+import mx.alura.api.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service responsible for reading and writing forum posts.
+ * Every method loads what the response needs inside its own transaction and returns
+ * detached data, so the connection is released before the response is serialized.
+ * Reads default to read-only transactions: Hibernate then keeps no entity snapshots,
+ * skips the flush on commit, and the connection is marked read-only for the driver.
+ * Updates are flushed before their response data is built, so it carries the version
+ * the update produced, which the client sends back in its next If-Match header.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PostService {
+
+    private final PostRepository postRepository;
+
+    private final UserRepository userRepository;
+
+    private final CourseRepository courseRepository;
+
+    private final SearchIndex searchIndex;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    private final CourseCatalog courseCatalog;
+
+    private final ResponseCache responseCache;
+
+    private final InvalidationBus invalidationBus;
+
+    private final ReadCoalescer readCoalescer;
+
+    /**
+     * Constructs a new PostService.
+     *
+     * @param postRepository    The repository for managing posts.
+     * @param userRepository    The repository resolving the user of a post.
+     * @param courseRepository  The repository resolving the course of a post.
+     * @param searchIndex       The full-text index updated after each write.
+     * @param autocompleteIndex The typeahead index updated after each write.
+     * @param courseCatalog     The in-memory catalog resolving course names to IDs.
+     * @param responseCache     The HTTP response cache invalidated after each write.
+     * @param invalidationBus   The bus telling the other instances about each write.
+     * @param readCoalescer     The coalescer sharing one load between concurrent reads of the same post.
+     */
+    public PostService(
+            PostRepository postRepository,
+            UserRepository userRepository,
+            CourseRepository courseRepository,
+            SearchIndex searchIndex,
+            AutocompleteIndex autocompleteIndex,
+            CourseCatalog courseCatalog,
+            ResponseCache responseCache,
+            InvalidationBus invalidationBus,
+            ReadCoalescer readCoalescer
+    ) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.courseCatalog = courseCatalog;
+        this.responseCache = responseCache;
+        this.invalidationBus = invalidationBus;
+        this.readCoalescer = readCoalescer;
+    }
+
+    /**
+     * Registers a new post.
+     *
+     * @param registerPostData The data to register a new post.
+     * @return The registered post data.
+     */
+    @Transactional
+    public ResponsePostData register(RegisterPostData registerPostData) {
+        Post post = postRepository.save(new Post(
+                registerPostData,
+                userRepository.getReferenceById(registerPostData.userId()),
+                courseRepository.getReferenceById(registerPostData.courseId())
+        ));
+        searchIndex.index(SearchDocumentType.POST, post.getId(), post.getTitle(), post.getMessage());
+        autocompleteIndex.put(AutocompleteKind.POST, post.getId(), post.getTitle());
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.POST, post.getId());
+        return new ResponsePostData(post);
+    }
+
+    /**
+     * Lists all posts.
+     *
+     * @param pageable The pageable request for pagination.
+     * @return A page of post data.
+     */
+    public Page<ListPostData> list(Pageable pageable) {
+        return postRepository.findAllListData(pageable);
+    }
+
+    /**
+     * Retrieves a post by its ID. Concurrent requests for the same post share one database load,
+     * so this method opens no transaction of its own.
+     *
+     * @param id The ID of the post.
+     * @return The post data.
+     * @throws EntityNotFoundException       If the post does not exist.
+     * @throws CoalescedReadTimeoutException If the load shared with another request took too long.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponsePostData getById(Long id) {
+        return readCoalescer.load(ResponsePostData.class, id, () -> new ResponsePostData(findPost(id)));
+    }
+
+    /**
+     * Retrieves the current version of a post without loading it, to answer conditional requests.
+     *
+     * @param id The ID of the post.
+     * @return The version of the post, or empty if it does not exist.
+     */
+    public Optional<Long> findVersion(Long id) {
+        return postRepository.findVersionById(id);
+    }
+
+    /**
+     * Retrieves posts by username.
+     *
+     * @param username The username to filter posts.
+     * @param pageable The pageable request for pagination.
+     * @return A page of post data filtered by username.
+     */
+    public Page<ListPostData> listByUsername(String username, Pageable pageable) {
+        return postRepository.findByUsername(username, pageable);
+    }
+
+    /**
+     * Retrieves posts by course name.
+     *
+     * @param courseName The name of the course to filter posts.
+     * @param pageable   The pageable request for pagination.
+     * @return A page of post data filtered by course name.
+     */
+    public Page<ListPostData> listByCourseName(String courseName, Pageable pageable) {
+        return courseCatalog.findId(courseName)
+                .map(courseId -> postRepository.findByCourseId(courseId, pageable))
+                .orElseGet(() -> Page.empty(pageable));
+    }
+
+    /**
+     * Lists posts newest first using cursor pagination.
+     *
+     * @param cursor The continuation token returned by the previous page, or null for the first page.
+     * @param size   The number of posts per page.
+     * @return A page of post data and the token for the next page.
+     */
+    public CursorPageData<ListPostData> listByCursor(String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = CursorPageData.clampSize(size);
+        List<ListPostData> rows = postRepository.findPageAfter(position.creationDate(), position.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPageData.of(rows, pageSize, row -> new Cursor(row.creationDate(), row.id()));
+    }
+
+    /**
+     * Retrieves posts by username, newest first, using cursor pagination.
+     *
+     * @param username The username to filter posts.
+     * @param cursor   The continuation token returned by the previous page, or null for the first page.
+     * @param size     The number of posts per page.
+     * @return A page of post data and the token for the next page.
+     */
+    public CursorPageData<ListPostData> listByUsernameByCursor(String username, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = CursorPageData.clampSize(size);
+        List<ListPostData> rows = postRepository.findPageByUsernameAfter(username, position.creationDate(), position.id(), PageRequest.of(0, pageSize + 1));
+        return CursorPageData.of(rows, pageSize, row -> new Cursor(row.creationDate(), row.id()));
+    }
+
+    /**
+     * Retrieves posts by course name, newest first, using cursor pagination.
+     *
+     * @param courseName The name of the course to filter posts.
+     * @param cursor     The continuation token returned by the previous page, or null for the first page.
+     * @param size       The number of posts per page.
+     * @return A page of post data and the token for the next page.
+     */
+    public CursorPageData<ListPostData> listByCourseNameByCursor(String courseName, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor);
+        int pageSize = CursorPageData.clampSize(size);
+        List<ListPostData> rows = courseCatalog.findId(courseName)
+                .map(courseId -> postRepository.findPageByCourseIdAfter(courseId, position.creationDate(), position.id(), PageRequest.of(0, pageSize + 1)))
+                .orElse(List.of());
+        return CursorPageData.of(rows, pageSize, row -> new Cursor(row.creationDate(), row.id()));
+    }
+
+    /**
+     * Updates a post's data.
+     *
+     * @param updatePostData The data for updating the post.
+     * @param ifMatch        The If-Match header of the request, or null to update unconditionally.
+     * @return The updated post data.
+     * @throws EntityNotFoundException     If the post does not exist.
+     * @throws PreconditionFailedException If the post no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponsePostData update(UpdatePostData updatePostData, String ifMatch) {
+        Post post = findPost(updatePostData.id());
+        ETags.checkIfMatch(ifMatch, post.getVersion());
+        post.updateData(updatePostData, userReference(updatePostData.userId()), courseReference(updatePostData.courseId()));
+        postRepository.flush();
+        searchIndex.index(SearchDocumentType.POST, post.getId(), post.getTitle(), post.getMessage());
+        autocompleteIndex.put(AutocompleteKind.POST, post.getId(), post.getTitle());
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.POST, post.getId());
+        return new ResponsePostData(post);
+    }
+
+    /**
+     * Updates a post by its ID.
+     *
+     * @param id                 The ID of the post to update.
+     * @param updatePostByIdData The data for updating the post.
+     * @param ifMatch            The If-Match header of the request, or null to update unconditionally.
+     * @return The updated post data.
+     * @throws EntityNotFoundException     If the post does not exist.
+     * @throws PreconditionFailedException If the post no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponsePostData update(Long id, UpdatePostByIdData updatePostByIdData, String ifMatch) {
+        Post post = findPost(id);
+        ETags.checkIfMatch(ifMatch, post.getVersion());
+        post.updateData(updatePostByIdData, userReference(updatePostByIdData.userId()), courseReference(updatePostByIdData.courseId()));
+        postRepository.flush();
+        searchIndex.index(SearchDocumentType.POST, post.getId(), post.getTitle(), post.getMessage());
+        autocompleteIndex.put(AutocompleteKind.POST, post.getId(), post.getTitle());
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.POST, post.getId());
+        return new ResponsePostData(post);
+    }
+
+    /**
+     * Deletes a post by its ID.
+     *
+     * @param id The ID of the post to delete.
+     * @throws EntityNotFoundException If the post does not exist.
+     */
+    @Transactional
+    public void delete(Long id) {
+        Post post = postRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+        searchIndex.remove(SearchDocumentType.POST, id);
+        autocompleteIndex.remove(AutocompleteKind.POST, id);
+        for (Message message : post.getMessageSet()) {
+            searchIndex.remove(SearchDocumentType.MESSAGE, message.getId());
+        }
+        postRepository.delete(post);
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.POST, id);
+    }
+
+    /**
+     * Loads a post with the associations its response data reads.
+     *
+     * @param id The ID of the post.
+     * @return The post.
+     * @throws EntityNotFoundException If the post does not exist.
+     */
+    private Post findPost(Long id) {
+        return postRepository.findWithUserAndCourseById(id).orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Resolves a user ID to a reference, without loading the user.
+     *
+     * @param id The ID of the user, or null.
+     * @return The reference, or null when no ID is given.
+     */
+    private User userReference(Long id) {
+        return id != null ? userRepository.getReferenceById(id) : null;
+    }
+
+    /**
+     * Resolves a course ID to a reference, without loading the course.
+     *
+     * @param id The ID of the course, or null.
+     * @return The reference, or null when no ID is given.
+     */
+    private Course courseReference(Long id) {
+        return id != null ? courseRepository.getReferenceById(id) : null;
+    }
+}
@@ -0,0 +1,94 @@
+package mx.alura.api.service;
+
+import mx.alura.api.infra.search.SearchDocumentType;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.record.message.ListMessageData;
+import mx.alura.api.record.post.ListPostData;
+import mx.alura.api.record.search.SearchResultData;
+import mx.alura.api.repository.MessageRepository;
+import mx.alura.api.repository.PostRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service answering full-text searches from the in-memory {@link SearchIndex}.
+ * The index is loaded from the database at startup and kept current by the services that write posts and messages;
+ * deletes that cascade in the database mark it stale, and a stale index is rebuilt in the background.
+ */
+@Service
+public class SearchService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchIndex searchIndex;
+
+    private final PostRepository postRepository;
+
+    private final MessageRepository messageRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructs a new SearchService.
+     *
+     * @param searchIndex        The index queried and rebuilt by this service.
+     * @param postRepository     The repository streaming posts on rebuild.
+     * @param messageRepository  The repository streaming messages on rebuild.
+     * @param transactionManager The transaction manager that runs the rebuild.
+     */
+    public SearchService(
+            SearchIndex searchIndex,
+            PostRepository postRepository,
+            MessageRepository messageRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.searchIndex = searchIndex;
+        this.postRepository = postRepository;
+        this.messageRepository = messageRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Searches post titles, post bodies and messages.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of results, between 1 and 50.
+     * @return The best matching posts and messages, best first.
+     */
+    public List<SearchResultData> search(String query, int limit) {
+        return searchIndex.search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Reloads the whole index from the database. Searches keep using the previous index until the new one is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        searchIndex.rebuild(builder -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ListPostData> posts = postRepository.streamAllListData()) {
+                posts.forEach(post -> builder.add(SearchDocumentType.POST, post.id(), post.title(), post.message()));
+            }
+            try (Stream<ListMessageData> messages = messageRepository.streamAllListData()) {
+                messages.forEach(message -> builder.add(SearchDocumentType.MESSAGE, message.id(), null, message.message()));
+            }
+        }));
+    }
+
+    /**
+     * Rebuilds the index when rows were removed by database cascades since the last rebuild.
+     */
+    @Scheduled(fixedDelay = 30_000)
+    public void rebuildIfStale() {
+        if (searchIndex.isStale()) {
+            rebuild();
+        }
+    }
+}
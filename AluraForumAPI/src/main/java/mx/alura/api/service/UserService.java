@@ -0,0 +1,183 @@
+package mx.alura.api.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import mx.alura.api.infra.autocomplete.AutocompleteIndex;
+import mx.alura.api.infra.autocomplete.AutocompleteKind;
+import mx.alura.api.infra.cache.CacheRegion;
+import mx.alura.api.infra.cache.ResponseCache;
+import mx.alura.api.infra.etag.ETags;
+import mx.alura.api.infra.etag.PreconditionFailedException;
+import mx.alura.api.infra.invalidation.ChangedEntity;
+import mx.alura.api.infra.invalidation.InvalidationBus;
+import mx.alura.api.infra.search.SearchIndex;
+import mx.alura.api.infra.security.PrincipalCache;
+import mx.alura.api.model.User;
+import mx.alura.api.record.user.RegisterUserData;
+import mx.alura.api.record.user.ResponseUserData;
+import mx.alura.api.record.user.UpdateUserByIdData;
+import mx.alura.api.record.user.UpdateUserData;
+import mx.alura.api.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service responsible for reading and writing forum users.
+ * Changes to a user evict the cached principal for both the old and the new username.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final SearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ResponseCache responseCache;
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * Constructs a new UserService.
+     *
+     * @param userRepository    The repository for managing users.
+     * @param passwordEncoder   The password encoder for encrypting user passwords.
+     * @param principalCache    The cache of authenticated principals to evict on user changes.
+     * @param searchIndex       The full-text index, marked stale when a delete cascades to posts and messages.
+     * @param autocompleteIndex The typeahead index updated after each write.
+     * @param responseCache     The HTTP response cache, invalidated where posts and messages are listed by username.
+     * @param invalidationBus   The bus telling the other instances about each write.
+     */
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            PrincipalCache principalCache,
+            SearchIndex searchIndex,
+            AutocompleteIndex autocompleteIndex,
+            ResponseCache responseCache,
+            InvalidationBus invalidationBus
+    ) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.responseCache = responseCache;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Registers a new user with an encoded password.
+     *
+     * @param registerUserData The data to register a new user.
+     * @return The registered user data.
+     */
+    @Transactional
+    public ResponseUserData register(RegisterUserData registerUserData) {
+        User user = new User(registerUserData);
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        userRepository.save(user);
+        autocompleteIndex.put(AutocompleteKind.USER, user.getId(), user.getUsername());
+        invalidationBus.publish(ChangedEntity.USER, user.getId());
+        return new ResponseUserData(user);
+    }
+
+    /**
+     * Lists all users.
+     *
+     * @param pageable The pageable request for pagination.
+     * @return A page of user data.
+     */
+    public Page<ResponseUserData> list(Pageable pageable) {
+        return userRepository.findAllResponseData(pageable);
+    }
+
+    /**
+     * Retrieves a user by their ID.
+     *
+     * @param id The ID of the user.
+     * @return The user data.
+     * @throws EntityNotFoundException If the user does not exist.
+     */
+    public ResponseUserData getById(Long id) {
+        return new ResponseUserData(findUser(id));
+    }
+
+    /**
+     * Updates a user's data.
+     *
+     * @param updateUserData The data for updating the user.
+     * @param ifMatch        The If-Match header of the request, or null to update unconditionally.
+     * @return The updated user data.
+     * @throws EntityNotFoundException     If the user does not exist.
+     * @throws PreconditionFailedException If the user no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponseUserData update(UpdateUserData updateUserData, String ifMatch) {
+        User user = findUser(updateUserData.id());
+        ETags.checkIfMatch(ifMatch, user.getVersion());
+        principalCache.evict(user.getUsername());
+        user.updateData(updateUserData);
+        userRepository.flush();
+        principalCache.evict(user.getUsername());
+        autocompleteIndex.put(AutocompleteKind.USER, user.getId(), user.getUsername());
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.USER, user.getId());
+        return new ResponseUserData(user);
+    }
+
+    /**
+     * Updates a user by their ID.
+     *
+     * @param id                 The ID of the user to update.
+     * @param updateUserByIdData The data for updating the user.
+     * @param ifMatch            The If-Match header of the request, or null to update unconditionally.
+     * @return The updated user data.
+     * @throws EntityNotFoundException     If the user does not exist.
+     * @throws PreconditionFailedException If the user no longer has the version named by the If-Match header.
+     */
+    @Transactional
+    public ResponseUserData update(Long id, UpdateUserByIdData updateUserByIdData, String ifMatch) {
+        User user = findUser(id);
+        ETags.checkIfMatch(ifMatch, user.getVersion());
+        principalCache.evict(user.getUsername());
+        user.updateData(updateUserByIdData);
+        userRepository.flush();
+        principalCache.evict(user.getUsername());
+        autocompleteIndex.put(AutocompleteKind.USER, user.getId(), user.getUsername());
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.USER, user.getId());
+        return new ResponseUserData(user);
+    }
+
+    /**
+     * Deletes a user by their ID.
+     *
+     * @param id The ID of the user to delete.
+     * @throws EntityNotFoundException If the user does not exist.
+     */
+    @Transactional
+    public void delete(Long id) {
+        User user = findUser(id);
+        principalCache.evict(user.getUsername());
+        userRepository.delete(user);
+        searchIndex.markStale();
+        autocompleteIndex.remove(AutocompleteKind.USER, id);
+        autocompleteIndex.markStale();
+        responseCache.invalidate(CacheRegion.POSTS, CacheRegion.MESSAGES);
+        invalidationBus.publish(ChangedEntity.USER, id);
+    }
+
+    /**
+     * Loads a user.
+     *
+     * @param id The ID of the user.
+     * @return The user.
+     * @throws EntityNotFoundException If the user does not exist.
+     */
+    private User findUser(Long id) {
+        return userRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+    }
+}
@@ -18,13 +18,20 @@ public class TimestampUtility {
      * @return A Timestamp object representing the current time with rounded nanoseconds.
      */
     public static Timestamp getTimeNowRounded() {
-        LocalDateTime now = LocalDateTime.now();
+        return round(LocalDateTime.now());
+    }
 
-        long nanos = now.getNano();
+    /**
+     * Rounds a time to 10 milliseconds' precision. Rounding up from 995 milliseconds or more
+     * carries into the next second.
+     *
+     * @param time The time to round.
+     * @return A Timestamp object representing the rounded time.
+     */
+    public static Timestamp round(LocalDateTime time) {
+        long nanos = time.getNano();
         long roundedNanos = Math.round((double) nanos / 10000000) * 10000000;
 
-        now = now.withNano((int) roundedNanos);
-
-        return Timestamp.valueOf(now);
+        return Timestamp.valueOf(time.plusNanos(roundedNanos - nanos));
     }
 }
@@ -0,0 +1,31 @@
+--
+-- Composite indexes matched to the repository queries.
+-- InnoDB appends the primary key to every secondary index, so each index
+-- also serves the (creation_date, id) tie-break of the cursor queries.
+-- MySQL drops the implicit single-column foreign key indexes on user_id,
+-- course_id and post_id once an index with that leading column exists.
+--
+
+-- PostRepository.findByUsername / findPageByUsernameAfter: user_id = ? ORDER BY creation_date, id
+ALTER TABLE `posts`
+  ADD INDEX `idx_posts_user_creation` (`user_id`, `creation_date`);
+
+-- PostRepository.findByCourseName / findPageByCourseNameAfter: course_id = ? ORDER BY creation_date, id
+ALTER TABLE `posts`
+  ADD INDEX `idx_posts_course_creation` (`course_id`, `creation_date`);
+
+-- PostRepository.findPageAfter: ORDER BY creation_date, id
+ALTER TABLE `posts`
+  ADD INDEX `idx_posts_creation` (`creation_date`);
+
+-- MessageRepository.findByCourseName: messages joined on post_id, ordered by creation_date, id
+ALTER TABLE `messages`
+  ADD INDEX `idx_messages_post_creation` (`post_id`, `creation_date`);
+
+-- MessageRepository.findByUsername / findPageByUsernameAfter: user_id = ? ORDER BY creation_date, id
+ALTER TABLE `messages`
+  ADD INDEX `idx_messages_user_creation` (`user_id`, `creation_date`);
+
+-- MessageRepository.findPageAfter and GET /forum/messages: ORDER BY creation_date, id
+ALTER TABLE `messages`
+  ADD INDEX `idx_messages_creation` (`creation_date`);
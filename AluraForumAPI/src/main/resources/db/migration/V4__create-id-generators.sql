@@ -0,0 +1,19 @@
+--
+-- Pooled identifier blocks for posts and messages.
+-- Hibernate reserves 50 ids per round trip, so inserts no longer need the
+-- generated key back from MySQL and can be sent as JDBC batches.
+-- next_val is the upper bound of the next block: seeding it with max(id) + 50
+-- makes the first block start right after the existing rows.
+--
+
+CREATE TABLE `id_generators` (
+  `sequence_name` varchar(50) NOT NULL,
+  `next_val` BIGINT NOT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generators` (`sequence_name`, `next_val`)
+SELECT 'posts', COALESCE(MAX(`id`), 0) + 50 FROM `posts`;
+
+INSERT INTO `id_generators` (`sequence_name`, `next_val`)
+SELECT 'messages', COALESCE(MAX(`id`), 0) + 50 FROM `messages`;
@@ -0,0 +1,16 @@
+--
+-- Cross-instance cache invalidation log.
+-- Every committed write appends one row per changed entity; each instance polls
+-- the rows added since its last read and drops what it cached for them.
+-- entity_id is NULL for bulk changes such as imports.
+--
+
+CREATE TABLE `cache_invalidations` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `origin` varchar(36) NOT NULL,
+  `entity` varchar(20) NOT NULL,
+  `entity_id` BIGINT DEFAULT NULL,
+  `created_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`id`),
+  KEY `idx_cache_invalidations_created_at` (`created_at`)
+) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,17 @@
+--
+-- Optimistic locking versions, incremented by Hibernate on every update.
+-- They back the ETag of each row and the If-Match check of the update endpoints.
+-- Existing rows start at version 0.
+--
+
+ALTER TABLE `users`
+  ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE `courses`
+  ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE `posts`
+  ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE `messages`
+  ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+--
+-- String keys for changed rows not identified by a number, such as the jti of a revoked token.
+-- Peers add each revoked jti to their Bloom filter without waiting for the next rebuild.
+--
+
+ALTER TABLE `cache_invalidations`
+  ADD COLUMN `entity_key` varchar(36) DEFAULT NULL AFTER `entity_id`;
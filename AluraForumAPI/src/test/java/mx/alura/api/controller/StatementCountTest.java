@@ -0,0 +1,90 @@
+package mx.alura.api.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import mx.alura.api.infra.security.TokenService;
+import mx.alura.api.model.User;
+import mx.alura.api.support.EmbeddedMariaDb;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each post and message read endpoint runs, using Hibernate statistics,
+ * so a lazy association touched while building the response shows up as an extra statement.
+ * The principal is built from the token claims and the response cache is off, so only the
+ * endpoint's own queries are counted. Pages are requested with one row per page, so Spring Data
+ * runs the count query as well.
+ */
+@SpringBootTest(properties = {
+        "api.security.stateless-principal=true",
+        "api.response-cache.enabled=false",
+        "api.invalidation.transport=none",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@EnabledOnOs(OS.LINUX)
+class StatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.register(registry, "statement_counts");
+    }
+
+    @BeforeEach
+    void signIn() {
+        token = tokenService.tokenGenerator(new User(1L, "JK", "jk@mail.com", null, 0L));
+    }
+
+    @ParameterizedTest(name = "GET {0} runs {1} statement(s)")
+    @CsvSource({
+            "/forum/posts/1,                           1",
+            "/forum/posts?size=1,                      2",
+            "/forum/posts/user/JK?size=1,              2",
+            "/forum/posts/course/Starting JPA?size=1,  2",
+            "/forum/posts/cursor?size=1,               1",
+            "/forum/posts/user/JK/cursor?size=1,       1",
+            "/forum/posts/course/Starting JPA/cursor,  1",
+            "/forum/messages/1,                        1",
+            "/forum/messages?size=1,                   2",
+            "/forum/messages/user/Maria?size=1,        2",
+            "/forum/messages/course/Kick off Spring boot?size=1, 2",
+            "/forum/messages/cursor?size=1,            1",
+            "/forum/messages/user/Maria/cursor,        1",
+            "/forum/messages/course/Kick off Spring boot/cursor, 1"
+    })
+    void readRunsExpectedStatements(String uri, long statements) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(statements, statistics.getPrepareStatementCount(), () -> "Statements run by GET " + uri);
+    }
+}
@@ -0,0 +1,93 @@
+package mx.alura.api.infra.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import mx.alura.api.infra.datasource.ReadConsistency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks which requests {@link ResponseCacheFilter} serves from and stores in the cache.
+ */
+class ResponseCacheFilterTest {
+
+    private static final String PATH = "/forum/posts/1";
+
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    private final FilterChain controller = (request, response) -> {
+        rendered.incrementAndGet();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    };
+
+    private ResponseCache responseCache;
+
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties(
+                true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofMinutes(1), false, DataSize.ofKilobytes(1));
+        responseCache = new ResponseCache(properties, new SimpleMeterRegistry());
+        filter = new ResponseCacheFilter(responseCache, properties);
+    }
+
+    @AfterEach
+    void unpin() {
+        ReadConsistency.reset();
+    }
+
+    @Test
+    void repeatedReadIsServedFromCache() throws Exception {
+        assertEquals("MISS", get().getHeader("X-Cache"));
+        assertEquals("HIT", get().getHeader("X-Cache"));
+        assertEquals(1, rendered.get());
+    }
+
+    @Test
+    void pinnedReadSkipsCachedResponse() throws Exception {
+        get();
+        ReadConsistency.requirePrimary();
+
+        MockHttpServletResponse response = get();
+
+        assertNull(response.getHeader("X-Cache"));
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertEquals(2, rendered.get());
+    }
+
+    @Test
+    void pinnedReadIsNotStored() throws Exception {
+        ReadConsistency.requirePrimary();
+        get();
+        ReadConsistency.reset();
+
+        assertEquals("MISS", get().getHeader("X-Cache"));
+        assertEquals(2, rendered.get());
+    }
+
+    /**
+     * Sends a GET request for {@link #PATH} through the filter.
+     *
+     * @return The response.
+     * @throws Exception If the filter fails.
+     */
+    private MockHttpServletResponse get() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", PATH), response, controller);
+        return response;
+    }
+}
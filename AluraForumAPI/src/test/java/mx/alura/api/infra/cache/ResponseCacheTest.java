@@ -0,0 +1,101 @@
+package mx.alura.api.infra.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the size accounting and eviction order of {@link ResponseCache}.
+ */
+class ResponseCacheTest {
+
+    private static final int BODY_SIZE = 100;
+
+    @Test
+    void evictsLeastRecentlyReadResponse() throws InterruptedException {
+        ResponseCache cache = cache(3 * BODY_SIZE);
+        put(cache, "a");
+        put(cache, "b");
+        put(cache, "c");
+        Thread.sleep(1);
+        assertNotNull(cache.get(CacheRegion.POSTS, "a"));
+
+        put(cache, "d");
+
+        assertNotNull(cache.get(CacheRegion.POSTS, "a"));
+        assertNull(cache.get(CacheRegion.POSTS, "b"));
+        assertEquals(3 * BODY_SIZE, cache.size());
+    }
+
+    @Test
+    void replacingResponseKeepsSizeExact() {
+        ResponseCache cache = cache(10 * BODY_SIZE);
+        put(cache, "a");
+        put(cache, "a");
+
+        assertEquals(BODY_SIZE, cache.size());
+    }
+
+    @Test
+    void concurrentStoresStayWithinLimit() throws Exception {
+        ResponseCache cache = cache(50 * BODY_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        String key = "k" + (i * 8 + offset) % 200;
+                        if (cache.get(CacheRegion.POSTS, key) == null) {
+                            put(cache, key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        put(cache, "last");
+
+        assertTrue(cache.size() <= 50 * BODY_SIZE, () -> "Stored " + cache.size() + " bytes");
+        assertEquals(0, cache.size() % BODY_SIZE, () -> "Size drifted to " + cache.size());
+    }
+
+    /**
+     * Builds a cache without gzip.
+     *
+     * @param maxSize The maximum stored size in bytes.
+     * @return The cache.
+     */
+    private static ResponseCache cache(long maxSize) {
+        ResponseCacheProperties properties = new ResponseCacheProperties(
+                true, DataSize.ofBytes(maxSize), DataSize.ofKilobytes(1), Duration.ofMinutes(1), false, DataSize.ofKilobytes(1));
+        return new ResponseCache(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Stores a response of {@link #BODY_SIZE} bytes in the posts region.
+     *
+     * @param cache The cache.
+     * @param key   The request key.
+     */
+    private static void put(ResponseCache cache, String key) {
+        cache.put(CacheRegion.POSTS, key, cache.generation(CacheRegion.POSTS), "application/json", null, new byte[BODY_SIZE]);
+    }
+}
@@ -0,0 +1,171 @@
+package mx.alura.api.infra.datasource;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.alura.api.infra.security.TokenRevocationService;
+import mx.alura.api.infra.security.TokenService;
+import mx.alura.api.model.User;
+import mx.alura.api.record.course.ResponseCourseData;
+import mx.alura.api.repository.CourseRepository;
+import mx.alura.api.support.EmbeddedMariaDb;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks read routing with two embedded databases standing in for the primary and a replica.
+ * The replica is migrated on its own and never receives the primary's writes, so it behaves like
+ * a replica lagging forever; it also holds a course the primary does not have. A socket that accepts
+ * connections but never answers stands in for a replica that hangs.
+ */
+@SpringBootTest(properties = {
+        "api.invalidation.transport=none",
+        "api.response-cache.enabled=false"
+})
+@EnabledOnOs(OS.LINUX)
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "routing_primary";
+
+    private static final String REPLICA = "routing_replica";
+
+    private static final String REPLICA_ONLY_COURSE = "Only on the replica";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.register(registry, PRIMARY);
+
+        String replicaUrl = EmbeddedMariaDb.createDatabase(REPLICA);
+        Flyway.configure().dataSource(replicaUrl, EmbeddedMariaDb.username(), "").load().migrate();
+        new JdbcTemplate(new DriverManagerDataSource(replicaUrl, EmbeddedMariaDb.username(), ""))
+                .update("INSERT INTO courses (name, category) VALUES (?, ?)", REPLICA_ONLY_COURSE, "Replication");
+
+        registry.add("api.datasource.replicas[0].url", () -> replicaUrl);
+        registry.add("api.datasource.replicas[0].username", EmbeddedMariaDb::username);
+        registry.add("api.datasource.replicas[0].password", () -> "");
+    }
+
+    @AfterEach
+    void unpin() {
+        ReadConsistency.reset();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals(REPLICA, currentDatabase(true));
+        assertTrue(readOnly().execute(status -> courseRepository.findAllResponseData()).stream()
+                .map(ResponseCourseData::name)
+                .anyMatch(REPLICA_ONLY_COURSE::equals));
+    }
+
+    @Test
+    void writeTransactionsUsePrimary() {
+        assertEquals(PRIMARY, currentDatabase(false));
+    }
+
+    @Test
+    void pinnedReadsUsePrimary() {
+        ReadConsistency.requirePrimary();
+        assertEquals(PRIMARY, currentDatabase(true));
+        assertEquals(PRIMARY, ReadConsistency.onPrimary(() -> currentDatabase(true)));
+        assertTrue(ReadConsistency.isPrimaryRequired(), "onPrimary must keep an existing pin");
+    }
+
+    @Test
+    void revocationsAreReadFromPrimary() {
+        DecodedJWT token = tokenService.verify(tokenService.tokenGenerator(new User(1L, "JK", "jk@mail.com", null, 0L)));
+
+        tokenRevocationService.revoke(token);
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked(token));
+        assertEquals(REPLICA, currentDatabase(true), "Revocation reads must not leave the thread pinned");
+    }
+
+    @Test
+    void silentReplicaFallsBackWithinHealthCheckTimeout() throws Exception {
+        try (ServerSocket silentReplica = new ServerSocket(0)) {
+            String url = "jdbc:mysql://localhost:" + silentReplica.getLocalPort() + "/" + REPLICA;
+            ReplicaProperties properties = new ReplicaProperties(
+                    List.of(new ReplicaProperties.Replica(url, EmbeddedMariaDb.username(), "", 2)),
+                    Duration.ofSeconds(5),
+                    Duration.ofMillis(500)
+            );
+            HikariDataSource primary = new HikariDataSource();
+            primary.setJdbcUrl(EmbeddedMariaDb.url(PRIMARY));
+            primary.setUsername(EmbeddedMariaDb.username());
+
+            try (primary; ReplicaRoutingDataSource routing = new ReplicaRoutingConfiguration()
+                    .replicaRoutingDataSource(primary, properties, new SimpleMeterRegistry())) {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+                long start = System.nanoTime();
+                try (Connection connection = routing.getConnection()) {
+                    assertEquals(PRIMARY, connection.getCatalog());
+                } finally {
+                    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+                }
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                assertTrue(elapsed.compareTo(Duration.ofSeconds(3)) < 0, () -> "Fell back to the primary after " + elapsed);
+                assertEquals(0, routing.healthyReplicas());
+            }
+        }
+    }
+
+    /**
+     * Runs a query in a transaction and tells which database answered it.
+     *
+     * @param readOnly Whether the transaction is read-only.
+     * @return The name of the database the connection is attached to.
+     */
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = readOnly ? readOnly() : new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    /**
+     * Builds a template for read-only transactions, the ones routed to a replica.
+     *
+     * @return The transaction template.
+     */
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+}
@@ -0,0 +1,119 @@
+package mx.alura.api.infra.invalidation;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import mx.alura.api.AluraForumApi;
+import mx.alura.api.infra.catalog.CourseCatalog;
+import mx.alura.api.infra.security.TokenRevocationService;
+import mx.alura.api.infra.security.TokenService;
+import mx.alura.api.model.User;
+import mx.alura.api.record.course.ResponseCourseData;
+import mx.alura.api.record.course.UpdateCourseByIdData;
+import mx.alura.api.service.CourseService;
+import mx.alura.api.support.EmbeddedMariaDb;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two instances of the application in one JVM against the same database, connected by the
+ * JDBC invalidation transport, and checks that a change made on one reaches the other.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledOnOs(OS.LINUX)
+class TwoInstanceInvalidationTest {
+
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(10);
+
+    private ConfigurableApplicationContext first;
+
+    private ConfigurableApplicationContext second;
+
+    @BeforeAll
+    void startInstances() {
+        String url = EmbeddedMariaDb.createDatabase("two_instances");
+        first = start(url);
+        second = start(url);
+    }
+
+    @AfterAll
+    void stopInstances() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void revocationReachesPeerFilter() {
+        TokenService tokenService = first.getBean(TokenService.class);
+        DecodedJWT token = tokenService.verify(tokenService.tokenGenerator(new User(1L, "JK", "jk@mail.com", null, 0L)));
+        TokenRevocationService peer = second.getBean(TokenRevocationService.class);
+        assertFalse(peer.isRevoked(token));
+
+        first.getBean(TokenRevocationService.class).revoke(token);
+
+        awaitDelivery(() -> peer.isRevoked(token), "revoked token accepted by the peer");
+    }
+
+    @Test
+    void courseUpdateReachesPeerCatalog() {
+        CourseCatalog peer = second.getBean(CourseCatalog.class);
+        assertEquals("Kick off Spring boot", peer.findById(2L).map(ResponseCourseData::name).orElseThrow());
+
+        first.getBean(CourseService.class).update(2L, new UpdateCourseByIdData("Spring Boot 3", null), null);
+
+        awaitDelivery(() -> peer.findById(2L).map(ResponseCourseData::name).filter("Spring Boot 3"::equals).isPresent(),
+                "course renamed on one instance but not in the peer catalog");
+    }
+
+    /**
+     * Starts an instance on a random port with a fast invalidation poll.
+     *
+     * @param url The JDBC URL of the shared database.
+     * @return The application context.
+     */
+    private static ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(AluraForumApi.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + EmbeddedMariaDb.username(),
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                "--api.invalidation.transport=jdbc",
+                "--api.invalidation.poll-interval=100ms"
+        );
+    }
+
+    /**
+     * Waits until a condition holds, failing once the delivery timeout is over.
+     *
+     * @param condition The condition.
+     * @param failure   The message when the condition never holds.
+     */
+    private static void awaitDelivery(BooleanSupplier condition, String failure) {
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, failure);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package mx.alura.api.infra.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import mx.alura.api.infra.security.TokenService;
+import mx.alura.api.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the time {@link RateLimitFilter} adds to a request with eight threads filtering at once.
+ * Threads either share one bucket, which is the worst case for contention, or each use their own
+ * bucket keyed by address or by verified token. Limits are set high enough that no request is rejected.
+ * Run with {@code mvn test-compile exec:exec -Dbenchmark=RateLimitFilterBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    /**
+     * The filter and token service shared by every thread.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedFilter {
+
+        private final AtomicInteger clients = new AtomicInteger();
+
+        @Param({"shared-ip", "ip-per-thread", "token-per-thread"})
+        private String client;
+
+        private TokenService tokenService;
+
+        private RateLimitFilter filter;
+
+        /**
+         * Builds the filter with the routes of the default configuration.
+         */
+        @Setup
+        public void setUp() {
+            tokenService = new TokenService("benchmark-secret", "primary", "");
+            RateLimitProperties properties = new RateLimitProperties(
+                    true,
+                    1_000_000_000L,
+                    1_000_000_000d,
+                    Duration.ofMinutes(10),
+                    List.of(
+                            new RateLimitProperties.Route("/login", 1_000_000_000L, 1_000_000_000d),
+                            new RateLimitProperties.Route("/forum/messages/**", 1_000_000_000L, 1_000_000_000d)
+                    )
+            );
+            filter = new RateLimitFilter(properties, tokenService, new SimpleMeterRegistry());
+        }
+    }
+
+    /**
+     * The request one thread sends over and over.
+     */
+    @State(Scope.Thread)
+    public static class ClientRequest {
+
+        private MockHttpServletRequest request;
+
+        private MockHttpServletResponse response;
+
+        /**
+         * Builds the request of this thread according to the client mode.
+         *
+         * @param shared The shared filter.
+         */
+        @Setup
+        public void setUp(SharedFilter shared) {
+            int client = shared.clients.incrementAndGet();
+            request = new MockHttpServletRequest("GET", "/forum/posts");
+            response = new MockHttpServletResponse();
+            switch (shared.client) {
+                case "shared-ip" -> request.setRemoteAddr("10.0.0.1");
+                case "ip-per-thread" -> request.setRemoteAddr("10.0.0." + client);
+                default -> request.addHeader(
+                        HttpHeaders.AUTHORIZATION,
+                        "Bearer " + shared.tokenService.tokenGenerator(
+                                new User((long) client, "client" + client, "client" + client + "@mail.com", "password", 0L)
+                        )
+                );
+            }
+        }
+    }
+
+    /**
+     * Passes one request through the filter.
+     *
+     * @param shared The shared filter.
+     * @param client The request of this thread.
+     * @return The response status, 200 unless the request was limited.
+     * @throws ServletException If the filter fails.
+     * @throws IOException      If the filter fails.
+     */
+    @Benchmark
+    public int doFilter(SharedFilter shared, ClientRequest client) throws ServletException, IOException {
+        shared.filter.doFilter(client.request, client.response, NO_OP_CHAIN);
+        return client.response.getStatus();
+    }
+}
@@ -0,0 +1,144 @@
+package mx.alura.api.infra.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.alura.api.record.search.SearchResultData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Samples the latency of {@link SearchIndex#search} so JMH reports its percentiles, p99 included.
+ * Word frequencies are skewed so a few terms have long posting lists, like common words in forum posts.
+ * {@code search} runs four searching threads; {@code searchWhileIndexing} runs three of them next to a
+ * thread adding posts, to show how long searches wait for the write lock.
+ * Run with {@code mvn test-compile exec:exec -Dbenchmark=SearchIndexBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+
+    private static final int WORDS_PER_DOCUMENT = 40;
+
+    private static final int LIMIT = 10;
+
+    /**
+     * The index shared by every thread, loaded with posts and messages.
+     */
+    @State(Scope.Benchmark)
+    public static class LoadedIndex {
+
+        private final AtomicLong nextId = new AtomicLong();
+
+        @Param({"10000", "100000"})
+        private int documents;
+
+        private SearchIndex index;
+
+        /**
+         * Loads the index with one post for every four documents, the rest being messages.
+         */
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            index = new SearchIndex(new SimpleMeterRegistry());
+            index.rebuild(builder -> {
+                for (long id = 1; id <= documents; id++) {
+                    if (id % 4 == 0) {
+                        builder.add(SearchDocumentType.POST, id, words(random, 6), words(random, WORDS_PER_DOCUMENT));
+                    } else {
+                        builder.add(SearchDocumentType.MESSAGE, id, null, words(random, WORDS_PER_DOCUMENT));
+                    }
+                }
+            });
+            nextId.set(documents);
+        }
+    }
+
+    /**
+     * The queries of one thread.
+     */
+    @State(Scope.Thread)
+    public static class Queries {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        /**
+         * Builds a query of one to three words.
+         *
+         * @return The query text.
+         */
+        private String next() {
+            return IntStream.range(0, 1 + random.nextInt(3))
+                    .mapToObj(i -> word(random.nextDouble()))
+                    .collect(Collectors.joining(" "));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<SearchResultData> search(LoadedIndex loaded, Queries queries) {
+        return loaded.index.search(queries.next(), LIMIT);
+    }
+
+    @Benchmark
+    @Group("searchWhileIndexing")
+    @GroupThreads(3)
+    public List<SearchResultData> searchWhileIndexing(LoadedIndex loaded, Queries queries) {
+        return loaded.index.search(queries.next(), LIMIT);
+    }
+
+    @Benchmark
+    @Group("searchWhileIndexing")
+    @GroupThreads(1)
+    public void indexWhileSearching(LoadedIndex loaded, Queries queries) {
+        Random random = new Random(queries.random.nextLong());
+        loaded.index.index(SearchDocumentType.POST, loaded.nextId.incrementAndGet(), words(random, 6), words(random, WORDS_PER_DOCUMENT));
+    }
+
+    /**
+     * Builds a text of random words.
+     *
+     * @param random The source of randomness.
+     * @param count  The number of words.
+     * @return The words separated by spaces.
+     */
+    private static String words(Random random, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> word(random.nextDouble()))
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Picks a word, with low ranks far more likely than high ones.
+     *
+     * @param uniform A uniform random number in [0, 1).
+     * @return The word.
+     */
+    private static String word(double uniform) {
+        return "word" + (int) (VOCABULARY * uniform * uniform * uniform);
+    }
+}
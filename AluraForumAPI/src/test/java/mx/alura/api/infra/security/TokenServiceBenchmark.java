@@ -0,0 +1,97 @@
+package mx.alura.api.infra.security;
+
+import mx.alura.api.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tokens per second issued and verified by {@link TokenService}, with the verifiers shared by every thread.
+ * Run with {@code mvn test-compile exec:exec -Dbenchmark=TokenServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+
+    private User user;
+
+    private String validToken;
+
+    private String retiredKeyToken;
+
+    private String forgedToken;
+
+    /**
+     * Issues one token per key, plus a token signed with a secret the service does not know.
+     */
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService("benchmark-secret", "current", "previous=previous-secret");
+        user = new User(1L, "benchmark", "benchmark@mail.com", "password", 0L);
+        validToken = tokenService.tokenGenerator(user);
+        retiredKeyToken = new TokenService("previous-secret", "previous", "").tokenGenerator(user);
+        forgedToken = new TokenService("forged-secret", "current", "").tokenGenerator(user);
+    }
+
+    /**
+     * Signs a new token.
+     *
+     * @return The token.
+     */
+    @Benchmark
+    public String tokenGenerator() {
+        return tokenService.tokenGenerator(user);
+    }
+
+    /**
+     * Verifies a token signed with the active key.
+     *
+     * @return The subject of the token.
+     */
+    @Benchmark
+    public String getSubject() {
+        return tokenService.getSubject(validToken);
+    }
+
+    /**
+     * Verifies a token signed with a retired key, selected by its {@code kid} header.
+     *
+     * @return The subject of the token.
+     */
+    @Benchmark
+    public String getSubjectRetiredKey() {
+        return tokenService.getSubject(retiredKeyToken);
+    }
+
+    /**
+     * Rejects a token with a wrong signature.
+     *
+     * @return The rejection, so the exception is not optimized away.
+     */
+    @Benchmark
+    public InvalidTokenException getSubjectForged() {
+        try {
+            tokenService.getSubject(forgedToken);
+            throw new IllegalStateException("The forged token was accepted");
+        } catch (InvalidTokenException e) {
+            return e;
+        }
+    }
+}
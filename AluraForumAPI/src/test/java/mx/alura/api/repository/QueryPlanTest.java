@@ -0,0 +1,345 @@
+package mx.alura.api.repository;
+
+import com.mysql.cj.jdbc.JdbcConnection;
+import mx.alura.api.support.EmbeddedMariaDb;
+import mx.alura.api.support.QueryRecorder;
+import mx.alura.api.support.QueryRecorder.RecordedStatement;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL each filtered or ordered repository query sends, with the parameters it bound,
+ * and fails when a plan scans a whole table or does not use the index added for the query.
+ * The tables are seeded with enough rows for the optimizer to prefer indexes over scans.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryRecorder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledOnOs(OS.LINUX)
+class QueryPlanTest {
+
+    private static final int USERS = 100;
+
+    private static final int COURSES = 20;
+
+    private static final int POSTS = 5_000;
+
+    private static final int MESSAGES = 10_000;
+
+    private static final long FIRST_ID = 1_000;
+
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.register(registry, "query_plans");
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> users = new ArrayList<>();
+        for (long i = 0; i < USERS; i++) {
+            users.add(new Object[]{FIRST_ID + i, "user" + i, "user" + i + "@mail.com", "password"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password) VALUES (?, ?, ?, ?)", users);
+
+        List<Object[]> courses = new ArrayList<>();
+        for (long i = 0; i < COURSES; i++) {
+            courses.add(new Object[]{FIRST_ID + i, "course" + i, "category" + i % 4});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO courses (id, name, category) VALUES (?, ?, ?)", courses);
+
+        List<Object[]> posts = new ArrayList<>();
+        for (long i = 0; i < POSTS; i++) {
+            posts.add(new Object[]{
+                    FIRST_ID + i, "title" + i, "post" + i, minutesAfterStart(i), "Opened",
+                    FIRST_ID + i % USERS, FIRST_ID + i % COURSES
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO posts (id, title, message, creation_date, status, user_id, course_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, posts);
+
+        List<Object[]> messages = new ArrayList<>();
+        for (long i = 0; i < MESSAGES; i++) {
+            messages.add(new Object[]{
+                    FIRST_ID + i, "message" + i, minutesAfterStart(POSTS + i), true,
+                    FIRST_ID + i % USERS, FIRST_ID + i % POSTS
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO messages (id, message, creation_date, status, user_id, post_id)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, messages);
+
+        jdbcTemplate.execute("ANALYZE TABLE users, courses, posts, messages");
+    }
+
+    @Test
+    void postDetailUsesPrimaryKeys() {
+        assertIndexed(() -> postRepository.findWithUserAndCourseById(FIRST_ID), "PRIMARY");
+        assertIndexed(() -> postRepository.findVersionById(FIRST_ID), "PRIMARY");
+    }
+
+    @Test
+    void postsByCreationDateUseCreationIndex() {
+        assertIndexed(
+                () -> postRepository.findAllListData(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationDate"))),
+                "idx_posts_creation"
+        );
+        assertIndexed(
+                () -> postRepository.findPageAfter(middle(POSTS), FIRST_ID + POSTS / 2, PageRequest.ofSize(10)),
+                "idx_posts_creation"
+        );
+    }
+
+    @Test
+    void postsByTitleUseUniqueTitleIndex() {
+        assertOrderedByIndex(() -> postRepository.findAllListData(PageRequest.of(0, 5, Sort.by("title"))), "title");
+    }
+
+    @Test
+    void postsByUsernameUseUserIndex() {
+        assertOrderedByIndex(
+                () -> postRepository.findByUsername("user7", PageRequest.of(0, 10, Sort.Direction.DESC, "creationDate", "id")),
+                "idx_posts_user_creation"
+        );
+        assertIndexed(
+                () -> postRepository.findPageByUsernameAfter("user7", middle(POSTS), FIRST_ID + POSTS / 2, PageRequest.ofSize(10)),
+                "idx_posts_user_creation"
+        );
+    }
+
+    @Test
+    void postsByCourseUseCourseIndex() {
+        assertIndexed(
+                () -> postRepository.findByCourseId(FIRST_ID + 3, PageRequest.of(0, 10, Sort.by("creationDate"))),
+                "idx_posts_course_creation"
+        );
+        assertIndexed(
+                () -> postRepository.findPageByCourseIdAfter(FIRST_ID + 3, middle(POSTS), FIRST_ID + POSTS / 2, PageRequest.ofSize(10)),
+                "idx_posts_course_creation"
+        );
+        assertIndexed(() -> stream(() -> postRepository.streamByCourseId(FIRST_ID + 3)), "idx_posts_course_creation");
+    }
+
+    @Test
+    void messageDetailUsesPrimaryKeys() {
+        assertIndexed(() -> messageRepository.findWithUserAndPostById(FIRST_ID), "PRIMARY");
+        assertIndexed(() -> messageRepository.findVersionById(FIRST_ID), "PRIMARY");
+    }
+
+    @Test
+    void messagesByCreationDateUseCreationIndex() {
+        assertIndexed(
+                () -> messageRepository.findAllListData(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationDate"))),
+                "idx_messages_creation"
+        );
+        assertIndexed(
+                () -> messageRepository.findPageAfter(middle(POSTS + MESSAGES), FIRST_ID + MESSAGES / 2, PageRequest.ofSize(10)),
+                "idx_messages_creation"
+        );
+    }
+
+    @Test
+    void messagesByUsernameUseUserIndex() {
+        assertIndexed(
+                () -> messageRepository.findByUsername("user7", PageRequest.of(0, 10, Sort.by("creationDate"))),
+                "idx_messages_user_creation"
+        );
+        assertIndexed(
+                () -> messageRepository.findPageByUsernameAfter("user7", middle(POSTS + MESSAGES), FIRST_ID + MESSAGES / 2, PageRequest.ofSize(10)),
+                "idx_messages_user_creation"
+        );
+    }
+
+    @Test
+    void messagesByCourseUsePostIndexes() {
+        assertIndexed(
+                () -> messageRepository.findByCourseId(FIRST_ID + 3, PageRequest.of(0, 10, Sort.by("creationDate"))),
+                "idx_posts_course_creation", "idx_messages_post_creation"
+        );
+        assertIndexed(
+                () -> messageRepository.findPageByCourseIdAfter(FIRST_ID + 3, middle(POSTS + MESSAGES), FIRST_ID + MESSAGES / 2, PageRequest.ofSize(10)),
+                "idx_posts_course_creation", "idx_messages_post_creation"
+        );
+        assertIndexed(() -> stream(() -> messageRepository.streamByCourseId(FIRST_ID + 3)), "idx_posts_course_creation", "idx_messages_post_creation");
+    }
+
+    @Test
+    void userLookupUsesUniqueName() {
+        assertIndexed(() -> userRepository.findByUsername("user7"), "name");
+    }
+
+    /**
+     * Runs a repository call, then explains every query it sent.
+     *
+     * @param call            The repository call.
+     * @param expectedIndexes The indexes the plans must use, all of them across the queries of the call.
+     */
+    private void assertIndexed(Runnable call, String... expectedIndexes) {
+        queryRecorder.clear();
+        call.run();
+        List<RecordedStatement> queries = queryRecorder.statements().stream()
+                .filter(RecordedStatement::isSelect)
+                .toList();
+        assertFalse(queries.isEmpty(), "The call sent no query");
+
+        Set<String> usedIndexes = new TreeSet<>();
+        for (RecordedStatement query : queries) {
+            for (Map<String, Object> step : explain(query)) {
+                assertNotEquals("ALL", step.get("type"), () -> "Full scan of " + step.get("table") + " in " + query.sql() + ": " + step);
+                if (step.get("key") != null) {
+                    usedIndexes.add((String) step.get("key"));
+                }
+            }
+        }
+        assertTrue(
+                usedIndexes.containsAll(List.of(expectedIndexes)),
+                () -> "Expected " + List.of(expectedIndexes) + " but the plans used " + usedIndexes + " for " + queries
+        );
+    }
+
+    /**
+     * Asserts the call reads its rows in order from the given index, without sorting them afterwards.
+     *
+     * @param call  The repository call.
+     * @param index The index the rows must be read from.
+     */
+    private void assertOrderedByIndex(Runnable call, String index) {
+        assertIndexed(call, index);
+        for (RecordedStatement query : queryRecorder.statements()) {
+            if (query.isSelect()) {
+                for (Map<String, Object> step : explain(query)) {
+                    assertFalse(String.valueOf(step.get("extra")).contains("filesort"),
+                            () -> "Filesort of " + step.get("table") + " in " + query.sql() + ": " + step);
+                }
+            }
+        }
+    }
+
+    /**
+     * Explains a recorded query with the parameters it was executed with. The statement is prepared on
+     * the client so every call is planned afresh: re-executing a cached server-side {@code EXPLAIN}
+     * can report a different plan than the first execution.
+     *
+     * @param query The recorded query.
+     * @return The rows of the plan, keyed by lower-case column name.
+     */
+    private List<Map<String, Object>> explain(RecordedStatement query) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Map<String, Object>>>) connection -> {
+            try (PreparedStatement statement = connection.unwrap(JdbcConnection.class).clientPrepareStatement("EXPLAIN " + query.sql())) {
+                for (ParameterSetOperation operation : query.parameters().get(0)) {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                }
+                List<Map<String, Object>> steps = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    while (resultSet.next()) {
+                        Map<String, Object> step = new HashMap<>();
+                        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                            step.put(metaData.getColumnLabel(column).toLowerCase(), resultSet.getObject(column));
+                        }
+                        steps.add(step);
+                    }
+                }
+                return steps;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Could not bind the parameters of " + query.sql(), e);
+            }
+        });
+    }
+
+    /**
+     * Opens a repository stream in a read-only transaction and reads its first row.
+     *
+     * @param opener Opens the stream.
+     */
+    private void stream(java.util.function.Supplier<? extends Stream<?>> opener) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<?> rows = opener.get()) {
+                rows.findFirst();
+            }
+        });
+    }
+
+    /**
+     * Returns the creation date in the middle of a run of rows created one minute apart.
+     *
+     * @param rows The number of rows since the start.
+     * @return The creation date of the middle row.
+     */
+    private static Timestamp middle(int rows) {
+        return minutesAfterStart(rows / 2);
+    }
+
+    /**
+     * Returns the creation date of a seeded row.
+     *
+     * @param minutes The position of the row.
+     * @return The creation date.
+     */
+    private static Timestamp minutesAfterStart(long minutes) {
+        return Timestamp.from(START.plus(minutes, ChronoUnit.MINUTES));
+    }
+}
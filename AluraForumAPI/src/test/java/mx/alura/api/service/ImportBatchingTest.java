@@ -0,0 +1,151 @@
+package mx.alura.api.service;
+
+import mx.alura.api.record.imports.ImportErrorData;
+import mx.alura.api.record.imports.ImportReportData;
+import mx.alura.api.support.EmbeddedMariaDb;
+import mx.alura.api.support.QueryRecorder;
+import mx.alura.api.support.QueryRecorder.RecordedStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that imported posts and messages reach the database as JDBC batches and take their ids
+ * from pooled blocks, so the number of round trips grows with the number of batches rather than rows.
+ */
+@SpringBootTest(properties = {
+        "api.invalidation.transport=none",
+        "api.response-cache.enabled=false"
+})
+@Import(QueryRecorder.class)
+@EnabledOnOs(OS.LINUX)
+class ImportBatchingTest {
+
+    private static final int ROWS = 120;
+
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.register(registry, "import_batching");
+    }
+
+    @BeforeEach
+    void clearRecorder() {
+        queryRecorder.clear();
+    }
+
+    @Test
+    void postsAreInsertedInBatches() throws IOException {
+        ImportReportData report = importService.importPosts(ndjson(i ->
+                "{\"title\":\"Batched post " + i + "\",\"message\":\"Body " + i + "\",\"status\":\"Opened\",\"userId\":1,\"courseId\":1}"));
+
+        assertEquals(ROWS, report.imported(), () -> "Rejected lines: " + report.errors());
+        assertBatched("posts");
+        assertPooledIds("posts", "SELECT id FROM posts WHERE title LIKE 'Batched post %' ORDER BY id");
+    }
+
+    @Test
+    void messagesAreInsertedInBatches() throws IOException {
+        ImportReportData report = importService.importMessages(ndjson(i ->
+                "{\"message\":\"Batched message " + i + "\",\"user\":1,\"post\":1}"));
+
+        assertEquals(ROWS, report.imported(), () -> "Rejected lines: " + report.errors());
+        assertBatched("messages");
+        assertPooledIds("messages", "SELECT id FROM messages WHERE message LIKE 'Batched message %' ORDER BY id");
+    }
+
+    @Test
+    void constraintViolationRejectsOnlyItsLine() throws IOException {
+        ImportReportData report = importService.importPosts(ndjson(i ->
+                "{\"title\":\"Checked post " + i + "\",\"message\":\"Checked body " + i + "\",\"status\":\"Opened\",\"userId\":"
+                        + (i == 7 ? 999 : 1) + ",\"courseId\":1}"));
+
+        assertEquals(ROWS - 1, report.imported());
+        assertEquals(List.of(7L), report.errors().stream().map(ImportErrorData::line).toList());
+        assertEquals(ROWS - 1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE title LIKE 'Checked post %'", Long.class));
+    }
+
+    /**
+     * Asserts every insert into the table was sent with {@code executeBatch}, in as few batches as the
+     * Hibernate batch size allows.
+     *
+     * @param table The table the rows were imported into.
+     */
+    private void assertBatched(String table) {
+        List<RecordedStatement> inserts = statements("insert into " + table + " ");
+
+        assertTrue(inserts.stream().allMatch(RecordedStatement::batch), () -> "Inserts not batched: " + inserts);
+        assertEquals(ROWS, inserts.stream().mapToInt(RecordedStatement::batchSize).sum());
+        assertEquals((ROWS + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE, inserts.size(), "Insert batches");
+    }
+
+    /**
+     * Asserts the ids come from blocks reserved in {@code id_generators}: consecutive, with at most
+     * one reservation per block.
+     *
+     * @param table The table the rows were imported into.
+     * @param ids   The query listing the ids of the imported rows in order.
+     */
+    private void assertPooledIds(String table, String ids) {
+        List<Long> imported = jdbcTemplate.queryForList(ids, Long.class);
+        assertEquals(ROWS - 1, imported.get(ROWS - 1) - imported.get(0), () -> "Ids of " + table + " are not consecutive");
+
+        long reservations = statements("update id_generators ").size();
+        assertTrue(reservations >= 1 && reservations <= (ROWS + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE,
+                () -> reservations + " id blocks reserved for " + ROWS + " " + table);
+    }
+
+    /**
+     * Lists the recorded statements starting with a prefix, ignoring case.
+     *
+     * @param prefix The start of the SQL.
+     * @return The matching statements.
+     */
+    private List<RecordedStatement> statements(String prefix) {
+        return queryRecorder.statements().stream()
+                .filter(statement -> statement.sql().stripLeading().regionMatches(true, 0, prefix, 0, prefix.length()))
+                .toList();
+    }
+
+    /**
+     * Builds an NDJSON stream of {@link #ROWS} lines.
+     *
+     * @param line Function building the line for an index.
+     * @return The stream.
+     */
+    private static InputStream ndjson(IntFunction<String> line) {
+        String body = IntStream.rangeClosed(1, ROWS).mapToObj(line).collect(Collectors.joining("\n"));
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
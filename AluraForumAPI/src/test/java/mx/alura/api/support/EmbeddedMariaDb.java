@@ -0,0 +1,108 @@
+package mx.alura.api.support;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Embedded MariaDB server shared by every database test of a test run.
+ * The server is started on first use on a free port and stopped when the JVM exits. Each test class
+ * gets its own empty database, which Flyway migrates like a production MySQL schema.
+ */
+public final class EmbeddedMariaDb {
+
+    private static final String DATABASE_VERSION = "mariadb-11.4.5";
+
+    private static final String USERNAME = "root";
+
+    private static final String URL_OPTIONS = "?useLocalSessionState=true&rewriteBatchedStatements=true"
+            + "&useServerPrepStmts=true&cachePrepStmts=true&useCursorFetch=true";
+
+    private static DB server;
+
+    private static int port;
+
+    private EmbeddedMariaDb() {
+    }
+
+    /**
+     * Creates an empty database, dropping any database left with the same name.
+     *
+     * @param name The name of the database.
+     * @return The JDBC URL of the database.
+     */
+    public static synchronized String createDatabase(String name) {
+        start();
+        try (Connection connection = DriverManager.getConnection(url(""), USERNAME, "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS `" + name + "`");
+            statement.execute("CREATE DATABASE `" + name + "`");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create database " + name, e);
+        }
+        return url(name);
+    }
+
+    /**
+     * Points {@code spring.datasource} at a new empty database. The MySQL dialect is set explicitly:
+     * Connector/J takes the MariaDB 11 version for MySQL 11 and fails to read the keywords metadata
+     * Hibernate detects the dialect from.
+     *
+     * @param registry The registry of the test context.
+     * @param name     The name of the database.
+     */
+    public static void register(DynamicPropertyRegistry registry, String name) {
+        String url = createDatabase(name);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    /**
+     * Builds the JDBC URL of a database, with the driver options of {@code application.yml}.
+     *
+     * @param name The name of the database, or an empty string for none.
+     * @return The JDBC URL.
+     */
+    public static String url(String name) {
+        return "jdbc:mysql://localhost:" + port + "/" + name + URL_OPTIONS;
+    }
+
+    /**
+     * Returns the database user of the server.
+     *
+     * @return The username.
+     */
+    public static String username() {
+        return USERNAME;
+    }
+
+    /**
+     * Starts the server if it is not running yet.
+     */
+    private static void start() {
+        if (server != null) {
+            return;
+        }
+        DBConfigurationBuilder configuration = DBConfigurationBuilder.newBuilder();
+        configuration.setPort(0);
+        configuration.setDatabaseVersion(DATABASE_VERSION);
+        if ("root".equals(System.getProperty("user.name"))) {
+            configuration.addArg("--user=root");
+        }
+        try {
+            server = DB.newEmbeddedDB(configuration.build());
+            server.start();
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("Could not start the embedded MariaDB server", e);
+        }
+        port = configuration.getPort();
+    }
+}
@@ -0,0 +1,78 @@
+package mx.alura.api.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the statements sent through the application DataSource, with their bound parameters.
+ * Import it into a test context to wrap every DataSource bean.
+ */
+public class QueryRecorder implements BeanPostProcessor, QueryExecutionListener {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(this).build();
+        }
+        return bean;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parameters = new ArrayList<>(queryInfo.getParametersList());
+            statements.add(new RecordedStatement(queryInfo.getQuery(), parameters, execInfo.isBatch(), execInfo.getBatchSize()));
+        }
+    }
+
+    /**
+     * Forgets the statements recorded so far.
+     */
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Lists the statements recorded since the last {@link #clear()}.
+     *
+     * @return The statements, in execution order.
+     */
+    public List<RecordedStatement> statements() {
+        return List.copyOf(statements);
+    }
+
+    /**
+     * A statement sent to the database.
+     *
+     * @param sql        The SQL text, with {@code ?} placeholders.
+     * @param parameters The parameters bound for each execution; one entry per batched row.
+     * @param batch      Whether the statement was sent with {@code executeBatch}.
+     * @param batchSize  The number of rows in the batch, or 0 when not batched.
+     */
+    public record RecordedStatement(String sql, List<List<ParameterSetOperation>> parameters, boolean batch, int batchSize) {
+
+        /**
+         * Tells whether the statement is a query.
+         *
+         * @return true for SELECT statements.
+         */
+        public boolean isSelect() {
+            return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package mx.alura.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the rounding of creation dates to 10 milliseconds.
+ */
+class TimestampUtilityTest {
+
+    @Test
+    void roundsToTenMilliseconds() {
+        assertEquals(Timestamp.valueOf("2024-05-01 10:15:30.12"),
+                TimestampUtility.round(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_789)));
+    }
+
+    @Test
+    void roundingUpCarriesIntoNextSecond() {
+        assertEquals(Timestamp.valueOf("2024-05-01 10:15:31"),
+                TimestampUtility.round(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 995_000_000)));
+    }
+
+    @Test
+    void roundingUpCarriesIntoNextDay() {
+        assertEquals(Timestamp.valueOf("2025-01-01 00:00:00"),
+                TimestampUtility.round(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999)));
+    }
+}